@@ -0,0 +1,136 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.base;
+
+import static be.fror.common.base.Preconditions.checkArgument;
+import static be.fror.common.base.Preconditions.checkNotNull;
+
+import be.fror.common.random.RandomSource;
+
+/**
+ * Walker's alias method, with Vose's O(n) construction: draws indices with probabilities
+ * proportional to their weights, in constant time. Tables are immutable, and can be shared by any
+ * number of sources.
+ *
+ * <p>
+ * Each entry of the table packs the threshold of its column, as an unsigned 32-bit fraction, in
+ * its high half, and the alias of its column in its low half. A draw therefore reads a single
+ * <tt>long</tt>, and takes both the column and the coin from a single <tt>nextLong()</tt>: the high
+ * half picks the column with Lemire's multiply-and-reject method, and the low half is the coin.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+public final class AliasTable {
+
+  private static final long MASK = 0xffffffffL;
+
+  private final long[] table;
+  // Low halves of the column products under this value are rejected: it keeps the columns uniform.
+  private final long rejectionThreshold;
+
+  /**
+   * Creates a table of the indices of <tt>weights</tt>. <tt>weights</tt> is not modified, nor
+   * kept.
+   *
+   * @param weights
+   * @throws IllegalArgumentException if <tt>weights</tt> is empty, if <tt>weights[<i>n</i>]</tt> is
+   * negative or not finite, or if the sum of <tt>weights</tt> isn't positive and finite.
+   */
+  public AliasTable(double[] weights) {
+    checkNotNull(weights);
+    final int size = weights.length;
+    checkArgument(size > 0, "weights must not be empty");
+    double sum = 0d;
+    for (double weight : weights) {
+      checkArgument(0d <= weight && weight < Double.POSITIVE_INFINITY, "weights must be finite and not negative");
+      sum += weight;
+    }
+    checkArgument(0d < sum && sum < Double.POSITIVE_INFINITY, "the sum of weights must be positive and finite");
+
+    // Scale the weights so that their average is 1.
+    final double[] scaled = new double[size];
+    final int[] small = new int[size];
+    int smallSize = 0;
+    final int[] large = new int[size];
+    int largeSize = 0;
+    for (int i = 0; i < size; i++) {
+      scaled[i] = weights[i] * size / sum;
+      if (scaled[i] < 1d) {
+        small[smallSize++] = i;
+      } else {
+        large[largeSize++] = i;
+      }
+    }
+
+    final long[] t = new long[size];
+    while (largeSize != 0 && smallSize != 0) {
+      final int less = small[--smallSize];
+      final int more = large[--largeSize];
+      t[less] = entry(scaled[less], more);
+      scaled[more] += scaled[less] - 1d;
+      if (scaled[more] < 1d) {
+        small[smallSize++] = more;
+      } else {
+        large[largeSize++] = more;
+      }
+    }
+    // What remains is 1 up to rounding errors: such columns are their own alias.
+    while (smallSize != 0) {
+      final int column = small[--smallSize];
+      t[column] = entry(1d, column);
+    }
+    while (largeSize != 0) {
+      final int column = large[--largeSize];
+      t[column] = entry(1d, column);
+    }
+    this.table = t;
+    this.rejectionThreshold = (1L << 32) % size;
+  }
+
+  private static long entry(double probability, int alias) {
+    final long threshold = Math.min((long) (probability * 0x1.0p32), MASK);
+    return (threshold << 32) | (alias & MASK);
+  }
+
+  /**
+   * @return the number of indices of this table.
+   */
+  public int size() {
+    return table.length;
+  }
+
+  /**
+   * Returns an index drawn using <tt>source</tt>, with a probability proportional to its weight.
+   *
+   * @param source
+   * @return
+   */
+  public int sample(RandomSource source) {
+    final long[] t = table;
+    final long size = t.length;
+    long bits;
+    long product;
+    do {
+      bits = source.nextLong();
+      product = (bits >>> 32) * size;
+    } while ((product & MASK) < rejectionThreshold);
+    final int column = (int) (product >>> 32);
+    final long entry = t[column];
+    return (bits & MASK) < (entry >>> 32)
+        ? column
+        : (int) entry;
+  }
+}
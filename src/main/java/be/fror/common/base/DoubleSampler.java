@@ -0,0 +1,62 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.base;
+
+import static be.fror.common.base.Preconditions.checkPositionIndexes;
+
+/**
+ * A distribution of real numbers whose parameters are already validated and bound to a source of
+ * randomness, as prepared by {@link RandomDistribution}.
+ *
+ * <p>
+ * A sampler is as thread-safe as its source.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+@FunctionalInterface
+public interface DoubleSampler {
+
+  /**
+   * @return the next value of the distribution.
+   */
+  double sample();
+
+  /**
+   * Fills <tt>array</tt> with values of the distribution.
+   *
+   * @param array
+   */
+  default void fill(double[] array) {
+    fill(array, 0, array.length);
+  }
+
+  /**
+   * Fills <tt>array</tt> from <tt>offset</tt> with <tt>length</tt> values. The values are the same
+   * as the ones <tt>length</tt> successive calls to {@link #sample()} would return.
+   *
+   * @param array
+   * @param offset
+   * @param length
+   * @throws IndexOutOfBoundsException if <tt>offset</tt> and <tt>length</tt> don't describe a
+   * valid range of <tt>array</tt>.
+   */
+  default void fill(double[] array, int offset, int length) {
+    checkPositionIndexes(offset, offset + length, array.length);
+    for (int i = offset, end = offset + length; i < end; i++) {
+      array[i] = sample();
+    }
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.base;
+
+import static be.fror.common.base.Preconditions.checkArgument;
+import static be.fror.common.base.Preconditions.checkNotNull;
+
+import be.fror.common.random.RandomSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A distribution replaying observed data, either the observations themselves or a histogram of
+ * them.
+ *
+ * <p>
+ * The distribution is built once, in <tt>O(n log n)</tt> time for observations and <tt>O(n)</tt>
+ * time for a histogram, and keeps no more than a few primitive arrays. Its samplers then draw each
+ * value in constant time, and may be created for any number of sources: the distribution itself is
+ * immutable.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+public final class EmpiricalDistribution {
+
+  /**
+   * Returns the distribution of <tt>observations</tt>, which are copied.
+   *
+   * @param observations
+   * @return
+   * @throws IllegalArgumentException if <tt>observations</tt> is empty or contains <tt>NaN</tt>.
+   */
+  public static EmpiricalDistribution ofObservations(double[] observations) {
+    checkArgument(observations.length > 0, "observations must not be empty");
+    final double[] values = observations.clone();
+    for (double value : values) {
+      checkArgument(!Double.isNaN(value), "observations must not contain NaN");
+    }
+    Arrays.sort(values);
+    return new EmpiricalDistribution(values, null);
+  }
+
+  /**
+   * Returns the distribution of a histogram: <tt>counts[i]</tt> observations fell in the bin
+   * <tt>[edges[i], edges[i + 1])</tt>. The arrays are copied.
+   *
+   * @param edges
+   * @param counts
+   * @return
+   * @throws IllegalArgumentException if <tt>edges.length != counts.length + 1</tt>, if
+   * <tt>counts</tt> is empty, if <tt>edges</tt> isn't strictly increasing, or if
+   * <tt>counts[<i>n</i>] &lt; 0</tt> or the sum of <tt>counts</tt> isn't positive.
+   */
+  public static EmpiricalDistribution ofHistogram(double[] edges, double[] counts) {
+    checkArgument(counts.length > 0, "counts must not be empty");
+    checkArgument(edges.length == counts.length + 1, "there must be one more edge than counts");
+    double sum = 0.0;
+    for (int i = 0; i < counts.length; i++) {
+      checkArgument(edges[i] < edges[i + 1], "edges must be strictly increasing");
+      checkArgument(0.0d <= counts[i], "counts must not be negative");
+      sum += counts[i];
+    }
+    checkArgument(0.0d < sum && sum < Double.POSITIVE_INFINITY, "the sum of counts must be positive");
+    return new EmpiricalDistribution(edges.clone(), new AliasTable(counts));
+  }
+
+  // The sorted observations, or the edges of the bins.
+  private final double[] values;
+  // The bins, or null for observations.
+  private final AliasTable bins;
+
+  private EmpiricalDistribution(double[] values, AliasTable bins) {
+    this.values = values;
+    this.bins = bins;
+  }
+
+  /**
+   * This method is equivalent to
+   *
+   * <pre><code>sampler(RandomSource.of(random))</code></pre>
+   *
+   * @param random
+   * @return
+   * @throws NullPointerException if <tt>random</tt> is <tt>null</tt>.
+   */
+  public DoubleSampler sampler(Random random) {
+    return sampler(RandomSource.of(random));
+  }
+
+  /**
+   * Returns a sampler of this distribution without interpolation: it returns one of the
+   * observations, or the middle of a bin.
+   *
+   * @param source
+   * @return
+   * @throws NullPointerException if <tt>source</tt> is <tt>null</tt>.
+   */
+  public DoubleSampler sampler(RandomSource source) {
+    checkNotNull(source);
+    final double[] v = values;
+    if (bins == null) {
+      return () -> v[source.nextInt(v.length)];
+    }
+    final AliasTable b = bins;
+    return () -> {
+      final int bin = b.sample(source);
+      return 0.5 * (v[bin] + v[bin + 1]);
+    };
+  }
+
+  /**
+   * This method is equivalent to
+   *
+   * <pre><code>interpolatingSampler(RandomSource.of(random))</code></pre>
+   *
+   * @param random
+   * @return
+   * @throws NullPointerException if <tt>random</tt> is <tt>null</tt>.
+   */
+  public DoubleSampler interpolatingSampler(Random random) {
+    return interpolatingSampler(RandomSource.of(random));
+  }
+
+  /**
+   * Returns a sampler of this distribution with linear interpolation: between two consecutive
+   * observations, which each stand for the same share of the distribution, or uniformly within a
+   * bin.
+   *
+   * @param source
+   * @return
+   * @throws NullPointerException if <tt>source</tt> is <tt>null</tt>.
+   */
+  public DoubleSampler interpolatingSampler(RandomSource source) {
+    checkNotNull(source);
+    final double[] v = values;
+    if (bins == null) {
+      if (v.length == 1) {
+        final double value = v[0];
+        return () -> value;
+      }
+      final int intervals = v.length - 1;
+      return () -> {
+        final double x = source.nextDouble() * intervals;
+        final int i = (int) x;
+        return v[i] + (x - i) * (v[i + 1] - v[i]);
+      };
+    }
+    final AliasTable b = bins;
+    return () -> {
+      final int bin = b.sample(source);
+      return v[bin] + source.nextDouble() * (v[bin + 1] - v[bin]);
+    };
+  }
+}
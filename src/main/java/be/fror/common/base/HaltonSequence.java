@@ -0,0 +1,177 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.base;
+
+import static be.fror.common.base.Preconditions.checkArgument;
+import static be.fror.common.base.Preconditions.checkState;
+
+/**
+ * The Halton sequence, in up to {@link #MAX_DIMENSION} dimensions: coordinate <tt>d</tt> of point
+ * <tt>i</tt> is the radical inverse of <tt>i</tt> in the base of the <tt>d</tt>-th prime.
+ *
+ * <p>
+ * Unscrambled, the coordinates of large bases are strongly correlated over long runs of points.
+ * The scrambled sequences apply an Owen-style nested random scrambling: each digit is shifted,
+ * modulo the base, by a hash of the seed, the dimension, the position of the digit, and all the
+ * digits before it. Like Owen's scrambling, it keeps the stratification of the sequence, and makes
+ * each point uniformly distributed.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+public final class HaltonSequence implements LowDiscrepancySequence {
+
+  public static final int MAX_DIMENSION = 1000;
+
+  private static final int[] PRIMES = primes(MAX_DIMENSION);
+
+  private static final double ONE_MINUS_ULP = Math.nextDown(1.0);
+
+  private final int dimension;
+  private final boolean scrambled;
+  private final long seed;
+  // For the scrambled sequence: the number of digits of each coordinate that matter to a double.
+  private final int[] digits;
+  private long index;
+
+  /**
+   * Returns the unscrambled Halton sequence.
+   *
+   * @param dimension
+   * @throws IllegalArgumentException if <tt>dimension</tt> isn't between <tt>1</tt> and
+   * {@link #MAX_DIMENSION}.
+   */
+  public HaltonSequence(int dimension) {
+    this(dimension, false, 0L);
+  }
+
+  /**
+   * Returns the Halton sequence scrambled from <tt>seed</tt>.
+   *
+   * @param dimension
+   * @param seed
+   * @throws IllegalArgumentException if <tt>dimension</tt> isn't between <tt>1</tt> and
+   * {@link #MAX_DIMENSION}.
+   */
+  public HaltonSequence(int dimension, long seed) {
+    this(dimension, true, seed);
+  }
+
+  private HaltonSequence(int dimension, boolean scrambled, long seed) {
+    checkArgument(1 <= dimension && dimension <= MAX_DIMENSION, "dimension must be between 1 and " + MAX_DIMENSION);
+    this.dimension = dimension;
+    this.scrambled = scrambled;
+    this.seed = seed;
+    this.digits = new int[dimension];
+    for (int d = 0; d < dimension; d++) {
+      // Enough digits for base^-digits < 2^-53.
+      digits[d] = (int) Math.ceil(53 / (Math.log(PRIMES[d]) / Math.log(2)));
+    }
+  }
+
+  private static int[] primes(int count) {
+    final int[] primes = new int[count];
+    int found = 0;
+    for (int candidate = 2; found < count; candidate++) {
+      boolean prime = true;
+      for (int i = 0; i < found && primes[i] * primes[i] <= candidate; i++) {
+        if (candidate % primes[i] == 0) {
+          prime = false;
+          break;
+        }
+      }
+      if (prime) {
+        primes[found++] = candidate;
+      }
+    }
+    return primes;
+  }
+
+  @Override
+  public int dimension() {
+    return dimension;
+  }
+
+  @Override
+  public long index() {
+    return index;
+  }
+
+  /**
+   * Sets the index of the next point, in constant time.
+   *
+   * @param index
+   * @throws IllegalArgumentException if <tt>index</tt> is negative.
+   */
+  @Override
+  public void skipTo(long index) {
+    checkArgument(0 <= index, "index must not be negative");
+    this.index = index;
+  }
+
+  @Override
+  public void next(double[] point) {
+    checkArgument(point.length == dimension, "point must have dimension() coordinates");
+    checkState(index >= 0, "the sequence is exhausted");
+    for (int d = 0; d < dimension; d++) {
+      point[d] = scrambled ? scrambledRadicalInverse(d, index) : radicalInverse(PRIMES[d], index);
+    }
+    index++;
+  }
+
+  private static double radicalInverse(int base, long i) {
+    final double inverseBase = 1.0 / base;
+    double scale = inverseBase;
+    double value = 0.0;
+    for (long n = i; n != 0; n /= base) {
+      value += (n % base) * scale;
+      scale *= inverseBase;
+    }
+    return value;
+  }
+
+  private double scrambledRadicalInverse(int d, long i) {
+    final int base = PRIMES[d];
+    final double inverseBase = 1.0 / base;
+    final long key = seed ^ (d + 1) * 0x9e3779b97f4a7c15L;
+    double scale = inverseBase;
+    double value = 0.0;
+    long n = i;
+    // The digits before the current one, as a number: i mod base^k.
+    long prefix = 0;
+    long weight = 1;
+    for (int k = 0; k < digits[d]; k++) {
+      final int digit = (int) (n % base);
+      n /= base;
+      final long hash = mix(key + k * 0xc2b2ae3d27d4eb4fL + prefix * 0x165667b19e3779f9L);
+      value += ((digit + (hash >>> 1) % base) % base) * scale;
+      scale *= inverseBase;
+      if (weight <= Long.MAX_VALUE / base) {
+        prefix += digit * weight;
+        weight *= base;
+      }
+    }
+    return Math.min(value, ONE_MINUS_ULP);
+  }
+
+  /**
+   * Stafford's variant 13 of the 64-bit finalizer of MurmurHash3.
+   */
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -21,11 +21,23 @@ import static java.lang.Math.PI;
 import static java.lang.Math.abs;
 import static java.lang.Math.ceil;
 import static java.lang.Math.exp;
+import static java.lang.Math.expm1;
+import static java.lang.Math.floor;
 import static java.lang.Math.log;
+import static java.lang.Math.log1p;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.lang.Math.pow;
+import static java.lang.Math.sqrt;
 import static java.lang.Math.tan;
 
+import be.fror.common.random.RandomSource;
+import be.fror.common.random.SplittableRandomSource;
+
 import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
 
 /**
  *
@@ -41,12 +53,23 @@ public final class RandomDistribution {
    */
   public static RandomDistribution using(Random random) {
     checkNotNull(random);
-    return new RandomDistribution(random);
+    return new RandomDistribution(RandomSource.of(random));
+  }
+
+  /**
+   *
+   * @param source
+   * @return
+   * @throws NullPointerException if <tt>source</tt> is <tt>null</tt>.
+   */
+  public static RandomDistribution using(RandomSource source) {
+    checkNotNull(source);
+    return new RandomDistribution(source);
   }
 
-  private final Random random;
+  private final RandomSource random;
 
-  private RandomDistribution(Random random) {
+  private RandomDistribution(RandomSource random) {
     this.random = random;
   }
 
@@ -79,6 +102,23 @@ public final class RandomDistribution {
     return a + uniform(b - a);
   }
 
+  /**
+   * Returns a sampler of the values of {@link #uniform(int, int) uniform(a, b)}, which validates
+   * the range once rather than on each value.
+   *
+   * @param a
+   * @param b
+   * @return
+   * @throws IllegalArgumentException if <tt>a &gt;= b</tt> or <tt>b - a &gt;=
+   * Integer.MAX_VALUE</tt>
+   */
+  public IntSampler uniformSampler(int a, int b) {
+    checkArgument(a < b && ((long) b - a < Integer.MAX_VALUE), "invalid range");
+    final RandomSource random = this.random;
+    final int n = b - a;
+    return () -> a + random.nextInt(n);
+  }
+
   /**
    *
    * @param a
@@ -90,6 +130,22 @@ public final class RandomDistribution {
     return a + uniform() * (b - a);
   }
 
+  /**
+   * Returns a sampler of the values of {@link #uniform(double, double) uniform(a, b)}, which
+   * validates the range once rather than on each value.
+   *
+   * @param a
+   * @param b
+   * @return
+   * @throws IllegalArgumentException if <tt>a &gt;= b</tt>
+   */
+  public DoubleSampler uniformSampler(double a, double b) {
+    checkArgument(a < b, "invalid range");
+    final RandomSource random = this.random;
+    final double width = b - a;
+    return () -> a + random.nextDouble() * width;
+  }
+
   /**
    *
    * @param p
@@ -110,11 +166,13 @@ public final class RandomDistribution {
   }
 
   /**
+   * Uses the ziggurat method: most calls need a single <tt>nextLong()</tt> and no transcendental
+   * function.
    *
    * @return a real number with a standard Gaussian distribution.
    */
   public double gaussian() {
-    return random.nextGaussian();
+    return Ziggurat.normal(random);
   }
 
   /**
@@ -128,6 +186,19 @@ public final class RandomDistribution {
     return mean + standardDeviation * gaussian();
   }
 
+  /**
+   * Returns a sampler of the values of {@link #gaussian(double, double) gaussian(mean,
+   * standardDeviation)}.
+   *
+   * @param mean
+   * @param standardDeviation
+   * @return
+   */
+  public DoubleSampler gaussianSampler(double mean, double standardDeviation) {
+    final RandomSource random = this.random;
+    return () -> mean + standardDeviation * Ziggurat.normal(random);
+  }
+
   /**
    *
    * @param p
@@ -140,24 +211,137 @@ public final class RandomDistribution {
   }
 
   /**
+   * Returns a sampler of the values of {@link #geometric(double) geometric(p)}, which validates
+   * <tt>p</tt> and computes <tt>log(1 - p)</tt> once rather than on each value.
+   *
+   * @param p
+   * @return
+   * @throws IllegalArgumentException if <tt>p &lt; 0</tt> or <tt>p &gt;= 1</tt>
+   */
+  public IntSampler geometricSampler(double p) {
+    checkArgument(0.0d <= p && p <= 1.0d, "p must be between 0 and 1");
+    final RandomSource random = this.random;
+    final double logQ = log(1.0 - p);
+    return () -> (int) ceil(log(random.nextDouble()) / logQ);
+  }
+
+  /**
+   * Uses Knuth's multiplication method below <tt>lambda = 10</tt>, and Hörmann's transformed
+   * rejection (PTRS) above, which needs about 2.5 uniform values per call whatever
+   * <tt>lambda</tt> is.
    *
    * @param lambda
    * @return
-   * @throws IllegalArgumentException if <tt>lambda &lt;= 0</tt> or if
-   * <tt>Double.isFinite(lambda)</tt> returns <tt>false</tt>
+   * @throws IllegalArgumentException if <tt>lambda &lt;= 0</tt> or
+   * <tt>lambda &gt; Integer.MAX_VALUE</tt>, or if <tt>lambda</tt> is <tt>NaN</tt>.
    */
   public int poisson(double lambda) {
-    checkArgument(0.0d < lambda && Double.isFinite(lambda));
+    checkArgument(0.0d < lambda && lambda <= Integer.MAX_VALUE);
+    if (lambda < POISSON_REJECTION_THRESHOLD) {
+      return poissonMultiplication(exp(-lambda));
+    }
+    return new PoissonRejection(lambda).sample(random);
+  }
+
+  /**
+   * Returns a sampler of the values of {@link #poisson(double) poisson(lambda)}, which validates
+   * <tt>lambda</tt> and computes the constants of its algorithm once rather than on each value.
+   *
+   * @param lambda
+   * @return
+   * @throws IllegalArgumentException if <tt>lambda &lt;= 0</tt> or
+   * <tt>lambda &gt; Integer.MAX_VALUE</tt>, or if <tt>lambda</tt> is <tt>NaN</tt>.
+   */
+  public IntSampler poissonSampler(double lambda) {
+    checkArgument(0.0d < lambda && lambda <= Integer.MAX_VALUE);
+    if (lambda < POISSON_REJECTION_THRESHOLD) {
+      final double expMinusLambda = exp(-lambda);
+      return () -> poissonMultiplication(expMinusLambda);
+    }
+    final RandomSource random = this.random;
+    final PoissonRejection rejection = new PoissonRejection(lambda);
+    return () -> rejection.sample(random);
+  }
+
+  private static final double POISSON_REJECTION_THRESHOLD = 10.0;
+
+  private int poissonMultiplication(double expMinusLambda) {
     int k = 0;
     double p = 1.0;
-    double L = exp(-lambda);
     do {
       k++;
       p *= uniform();
-    } while (p >= L);
+    } while (p >= expMinusLambda);
     return k - 1;
   }
 
+  /**
+   * Hörmann, "The transformed rejection method for generating Poisson random variables" (1993).
+   */
+  private static final class PoissonRejection {
+
+    private final double lambda;
+    private final double logLambda;
+    private final double a;
+    private final double b;
+    private final double logInverseAlpha;
+    private final double vr;
+
+    PoissonRejection(double lambda) {
+      final double sqrtLambda = sqrt(lambda);
+      this.lambda = lambda;
+      this.logLambda = log(lambda);
+      this.b = 0.931 + 2.53 * sqrtLambda;
+      this.a = -0.059 + 0.02483 * b;
+      this.logInverseAlpha = log(1.1239 + 1.1328 / (b - 3.4));
+      this.vr = 0.9277 - 3.6224 / (b - 2);
+    }
+
+    int sample(RandomSource random) {
+      while (true) {
+        final double u = random.nextDouble() - 0.5;
+        final double v = random.nextDouble();
+        final double us = 0.5 - abs(u);
+        final double k = floor((2 * a / us + b) * u + lambda + 0.43);
+        // Out of range values are rejected first, so that no accept saturates the cast to int.
+        if (k < 0 || k > Integer.MAX_VALUE) {
+          continue;
+        }
+        if (us >= 0.07 && v <= vr) {
+          return (int) k;
+        }
+        if (us < 0.013 && v > us) {
+          continue;
+        }
+        if (log(v) + logInverseAlpha - log(a / (us * us) + b) <= -lambda + k * logLambda - logFactorial((int) k)) {
+          return (int) k;
+        }
+      }
+    }
+  }
+
+  private static final double[] LOG_FACTORIALS = new double[256];
+
+  static {
+    for (int k = 2; k < LOG_FACTORIALS.length; k++) {
+      LOG_FACTORIALS[k] = LOG_FACTORIALS[k - 1] + log(k);
+    }
+  }
+
+  /**
+   * Returns <tt>log(k!)</tt>, from a table for small values of <tt>k</tt>, and from Stirling's
+   * series otherwise.
+   */
+  static double logFactorial(int k) {
+    if (k < LOG_FACTORIALS.length) {
+      return LOG_FACTORIALS[k];
+    }
+    final double n = k + 1.0;
+    final double inverseSquare = 1 / (n * n);
+    return (n - 0.5) * log(n) - n + 0.5 * log(2 * PI)
+        + (1.0 / 12 - (1.0 / 360 - inverseSquare / 1260) * inverseSquare) / n;
+  }
+
   /**
    *
    * @param alpha
@@ -169,6 +353,37 @@ public final class RandomDistribution {
     return pow(1 - uniform(), -1.0 / alpha) - 1.0;
   }
 
+  /**
+   * Returns a sampler of the values of {@link #pareto(double) pareto(alpha)}, which validates
+   * <tt>alpha</tt> once rather than on each value.
+   *
+   * @param alpha
+   * @return
+   * @throws IllegalArgumentException if <tt>alpha &lt;= 0</tt>
+   */
+  public DoubleSampler paretoSampler(double alpha) {
+    checkArgument(0.0d < alpha);
+    final RandomSource random = this.random;
+    final double exponent = -1.0 / alpha;
+    return () -> pow(1 - random.nextDouble(), exponent) - 1.0;
+  }
+
+  /**
+   * Returns the quantile function of {@link #pareto(double) pareto(alpha)}, which maps a uniform
+   * value, such as a coordinate of a {@link LowDiscrepancySequence}, to a value of the
+   * distribution: <tt>pareto(alpha)</tt> is <tt>paretoQuantile(uniform(), alpha)</tt>.
+   *
+   * @param p
+   * @param alpha
+   * @return
+   * @throws IllegalArgumentException if <tt>p</tt> isn't in <tt>[0, 1]</tt> or <tt>alpha &lt;= 0</tt>
+   */
+  public static double paretoQuantile(double p, double alpha) {
+    checkArgument(0.0d <= p && p <= 1.0d, "p must be between 0 and 1");
+    checkArgument(0.0d < alpha);
+    return pow(1 - p, -1.0 / alpha) - 1.0;
+  }
+
   /**
    *
    * @return
@@ -177,6 +392,30 @@ public final class RandomDistribution {
     return tan(PI * (uniform() - 0.5));
   }
 
+  /**
+   * Returns a sampler of the values of {@link #cauchy()}.
+   *
+   * @return
+   */
+  public DoubleSampler cauchySampler() {
+    final RandomSource random = this.random;
+    return () -> tan(PI * (random.nextDouble() - 0.5));
+  }
+
+  /**
+   * Returns the quantile function of {@link #cauchy()}, which maps a uniform value, such as a
+   * coordinate of a {@link LowDiscrepancySequence}, to a value of the distribution:
+   * <tt>cauchy()</tt> is <tt>cauchyQuantile(uniform())</tt>.
+   *
+   * @param p
+   * @return
+   * @throws IllegalArgumentException if <tt>p</tt> isn't in <tt>[0, 1]</tt>
+   */
+  public static double cauchyQuantile(double p) {
+    checkArgument(0.0d <= p && p <= 1.0d, "p must be between 0 and 1");
+    return tan(PI * (p - 0.5));
+  }
+
   /**
    * This method is equivalent to
    *
@@ -200,15 +439,10 @@ public final class RandomDistribution {
    * of a is not <tt>1</tt> with a margin of <tt>epsilon</tt>.
    */
   public int discrete(double[] a, double epsilon) {
-    double sum = 0.0;
-    for (int i = 0; i < a.length; i++) {
-      checkArgument(0.0d <= a[i]);
-      sum = sum + a[i];
-    }
-    checkArgument(abs(sum - 1.0d) < epsilon);
+    checkProbabilities(a, epsilon);
     while (true) {
       double r = uniform();
-      sum = 0.0;
+      double sum = 0.0;
       for (int i = 0; i < a.length; i++) {
         sum = sum + a[i];
         if (sum > r) {
@@ -219,6 +453,51 @@ public final class RandomDistribution {
   }
 
   /**
+   * This method is equivalent to
+   *
+   * <pre><code>prepareDiscrete(a, 1e-14)</code></pre>
+   *
+   * @param a
+   * @return
+   * @throws IllegalArgumentException if <tt>a[<i>n</i>] &lt; 0</tt> or if the sum of all elements
+   * of a is not <tt>1</tt> with a margin of <tt>1e-14</tt>.
+   */
+  public IntSampler prepareDiscrete(double[] a) {
+    return prepareDiscrete(a, 1e-14);
+  }
+
+  /**
+   * Returns a sampler of the values of {@link #discrete(double[], double) discrete(a, epsilon)}.
+   *
+   * <p>
+   * The sampler is built in <tt>O(a.length)</tt> time on an alias table, and then draws each value
+   * in constant time, where <tt>discrete</tt> scans <tt>a</tt> on each call. <tt>a</tt> is copied:
+   * later changes to it don't affect the sampler.
+   *
+   * @param a
+   * @param epsilon
+   * @return
+   * @throws IllegalArgumentException if <tt>a[<i>n</i>] &lt; 0</tt> or if the sum of all elements
+   * of a is not <tt>1</tt> with a margin of <tt>epsilon</tt>.
+   */
+  public IntSampler prepareDiscrete(double[] a, double epsilon) {
+    checkProbabilities(a, epsilon);
+    final RandomSource random = this.random;
+    final AliasTable table = new AliasTable(a);
+    return () -> table.sample(random);
+  }
+
+  private static void checkProbabilities(double[] a, double epsilon) {
+    double sum = 0.0;
+    for (int i = 0; i < a.length; i++) {
+      checkArgument(0.0d <= a[i]);
+      sum = sum + a[i];
+    }
+    checkArgument(abs(sum - 1.0d) < epsilon);
+  }
+
+  /**
+   * Uses the ziggurat method: most calls need a single <tt>nextLong()</tt> and no logarithm.
    *
    * @param lambda
    * @return
@@ -226,6 +505,712 @@ public final class RandomDistribution {
    */
   public double exponential(double lambda) {
     checkArgument(0.0d < lambda);
-    return -log(1 - uniform()) / lambda;
+    return Ziggurat.exponential(random) / lambda;
+  }
+
+  /**
+   * Returns a sampler of the values of {@link #exponential(double) exponential(lambda)}, which
+   * validates <tt>lambda</tt> once rather than on each value.
+   *
+   * @param lambda
+   * @return
+   * @throws IllegalArgumentException if <tt>lambda &lt;= 0</tt>
+   */
+  public DoubleSampler exponentialSampler(double lambda) {
+    checkArgument(0.0d < lambda);
+    final RandomSource random = this.random;
+    final double mean = 1 / lambda;
+    return () -> Ziggurat.exponential(random) * mean;
+  }
+
+  /**
+   * Returns the quantile function of {@link #exponential(double) exponential(lambda)}, which maps
+   * a uniform value, such as a coordinate of a {@link LowDiscrepancySequence}, to a value of the
+   * distribution.
+   *
+   * @param p
+   * @param lambda
+   * @return
+   * @throws IllegalArgumentException if <tt>p</tt> isn't in <tt>[0, 1]</tt> or
+   * <tt>lambda &lt;= 0</tt>
+   */
+  public static double exponentialQuantile(double p, double lambda) {
+    checkArgument(0.0d <= p && p <= 1.0d, "p must be between 0 and 1");
+    checkArgument(0.0d < lambda);
+    return -log1p(-p) / lambda;
+  }
+
+  /**
+   * Uses inversion when <tt>n * min(p, 1 - p) &lt; 30</tt>, and Kachitvichyanukul and Schmeiser's
+   * BTPE algorithm otherwise, whose expected cost doesn't depend on <tt>n</tt>.
+   *
+   * @param n
+   * @param p
+   * @return the number of successes among <tt>n</tt> trials with probability <tt>p</tt>.
+   * @throws IllegalArgumentException if <tt>n &lt; 0</tt>, or if <tt>p &lt; 0</tt> or
+   * <tt>p &gt; 1</tt>
+   */
+  public int binomial(int n, double p) {
+    checkArgument(n >= 0, "n must not be negative");
+    checkArgument(0.0d <= p && p <= 1.0d, "p must be between 0 and 1");
+    return new Binomial(n, p).sample(random);
+  }
+
+  /**
+   * Returns a sampler of the values of {@link #binomial(int, double) binomial(n, p)}, which
+   * validates the parameters and computes the constants of its algorithm once rather than on each
+   * value.
+   *
+   * @param n
+   * @param p
+   * @return
+   * @throws IllegalArgumentException if <tt>n &lt; 0</tt>, or if <tt>p &lt; 0</tt> or
+   * <tt>p &gt; 1</tt>
+   */
+  public IntSampler binomialSampler(int n, double p) {
+    checkArgument(n >= 0, "n must not be negative");
+    checkArgument(0.0d <= p && p <= 1.0d, "p must be between 0 and 1");
+    final RandomSource random = this.random;
+    final Binomial binomial = new Binomial(n, p);
+    return () -> binomial.sample(random);
+  }
+
+  /**
+   * Kachitvichyanukul and Schmeiser, "Binomial random variate generation" (1988), with inversion
+   * for small means. The variates are drawn for <tt>min(p, 1 - p)</tt>, and mirrored if needed.
+   */
+  private static final class Binomial {
+
+    private static final double INVERSION_THRESHOLD = 30.0;
+
+    private final int n;
+    private final boolean mirrored;
+    private final boolean byInversion;
+    private final double r;
+    private final double q;
+
+    // Inversion
+    private final double qn;
+    private final double bound;
+
+    // BTPE
+    private final int m;
+    private final double nrq;
+    private final double xm;
+    private final double xl;
+    private final double xr;
+    private final double c;
+    private final double laml;
+    private final double lamr;
+    private final double p1;
+    private final double p2;
+    private final double p3;
+    private final double p4;
+
+    Binomial(int n, double p) {
+      this.n = n;
+      this.mirrored = p > 0.5;
+      this.r = mirrored ? 1.0 - p : p;
+      this.q = 1.0 - r;
+      final double np = n * r;
+      this.nrq = np * q;
+      this.byInversion = np < INVERSION_THRESHOLD;
+      if (byInversion) {
+        this.qn = exp(n * log(q));
+        this.bound = min(n, np + 10.0 * sqrt(nrq + 1));
+        this.m = 0;
+        this.xm = this.xl = this.xr = this.c = this.laml = this.lamr = 0;
+        this.p1 = this.p2 = this.p3 = this.p4 = 0;
+      } else {
+        this.qn = this.bound = 0;
+        final double fm = np + r;
+        this.m = (int) floor(fm);
+        this.p1 = floor(2.195 * sqrt(nrq) - 4.6 * q) + 0.5;
+        this.xm = m + 0.5;
+        this.xl = xm - p1;
+        this.xr = xm + p1;
+        this.c = 0.134 + 20.5 / (15.3 + m);
+        final double al = (fm - xl) / (fm - xl * r);
+        this.laml = al * (1.0 + al / 2.0);
+        final double ar = (xr - fm) / (xr * q);
+        this.lamr = ar * (1.0 + ar / 2.0);
+        this.p2 = p1 * (1.0 + 2.0 * c);
+        this.p3 = p2 + c / laml;
+        this.p4 = p3 + c / lamr;
+      }
+    }
+
+    int sample(RandomSource random) {
+      if (r == 0.0) {
+        return mirrored ? n : 0;
+      }
+      final int y = byInversion ? inversion(random) : btpe(random);
+      return mirrored ? n - y : y;
+    }
+
+    private int inversion(RandomSource random) {
+      int x = 0;
+      double px = qn;
+      double u = random.nextDouble();
+      while (u > px) {
+        x++;
+        if (x > bound) {
+          x = 0;
+          px = qn;
+          u = random.nextDouble();
+        } else {
+          u -= px;
+          px = ((n - x + 1) * r * px) / (x * q);
+        }
+      }
+      return x;
+    }
+
+    private int btpe(RandomSource random) {
+      while (true) {
+        final double u = random.nextDouble() * p4;
+        double v = random.nextDouble();
+        final int y;
+        if (u <= p1) {
+          // Triangular region: accepted right away.
+          return (int) floor(xm - p1 * v + u);
+        } else if (u <= p2) {
+          // Parallelograms.
+          final double x = xl + (u - p1) / c;
+          v = v * c + 1.0 - abs(m - x + 0.5) / p1;
+          if (v > 1.0) {
+            continue;
+          }
+          y = (int) floor(x);
+        } else if (u <= p3) {
+          // Left exponential tail.
+          final double x = floor(xl + log(v) / laml);
+          if (x < 0 || v == 0.0) {
+            continue;
+          }
+          y = (int) x;
+          v = v * (u - p2) * laml;
+        } else {
+          // Right exponential tail.
+          final double x = floor(xr - log(v) / lamr);
+          if (x > n || v == 0.0) {
+            continue;
+          }
+          y = (int) x;
+          v = v * (u - p3) * lamr;
+        }
+        if (accept(y, v)) {
+          return y;
+        }
+      }
+    }
+
+    private boolean accept(int y, double v) {
+      final int k = abs(y - m);
+      if (k <= 20 || k >= nrq / 2.0 - 1) {
+        // Explicit evaluation of f(y) / f(m).
+        final double s = r / q;
+        final double a = s * (n + 1);
+        double f = 1.0;
+        if (m < y) {
+          for (int i = m + 1; i <= y; i++) {
+            f *= a / i - s;
+          }
+        } else if (m > y) {
+          for (int i = y + 1; i <= m; i++) {
+            f /= a / i - s;
+          }
+        }
+        return v <= f;
+      }
+      // Squeeze with the normal approximation, then Stirling's formula.
+      final double rho = (k / nrq) * ((k * (k / 3.0 + 0.625) + 0.1666666666666) / nrq + 0.5);
+      final double t = -k * (double) k / (2 * nrq);
+      final double logV = log(v);
+      if (logV < t - rho) {
+        return true;
+      }
+      if (logV > t + rho) {
+        return false;
+      }
+      final double x1 = y + 1.0;
+      final double f1 = m + 1.0;
+      final double z = n + 1.0 - m;
+      final double w = n - y + 1.0;
+      return logV <= xm * log(f1 / x1) + (n - m + 0.5) * log(z / w) + (y - m) * log(w * r / (x1 * q))
+          + stirlingCorrection(f1) + stirlingCorrection(z) + stirlingCorrection(x1) + stirlingCorrection(w);
+    }
+
+    private static double stirlingCorrection(double x) {
+      final double x2 = x * x;
+      return (13680. - (462. - (132. - (99. - 140. / x2) / x2) / x2) / x2) / x / 166320.;
+    }
+  }
+
+  /**
+   * Uses Marsaglia and Tsang's method: about one Gaussian and one uniform value per call, whatever
+   * the parameters are.
+   *
+   * @param shape
+   * @param scale
+   * @return a real number with a gamma distribution of mean <tt>shape * scale</tt>.
+   * @throws IllegalArgumentException if <tt>shape &lt;= 0</tt> or <tt>scale &lt;= 0</tt>
+   */
+  public double gamma(double shape, double scale) {
+    checkArgument(0.0d < shape, "shape must be positive");
+    checkArgument(0.0d < scale, "scale must be positive");
+    return new Gamma(shape).sample(random) * scale;
+  }
+
+  /**
+   * Returns a sampler of the values of {@link #gamma(double, double) gamma(shape, scale)}, which
+   * validates the parameters and computes the constants of its algorithm once rather than on each
+   * value.
+   *
+   * @param shape
+   * @param scale
+   * @return
+   * @throws IllegalArgumentException if <tt>shape &lt;= 0</tt> or <tt>scale &lt;= 0</tt>
+   */
+  public DoubleSampler gammaSampler(double shape, double scale) {
+    checkArgument(0.0d < shape, "shape must be positive");
+    checkArgument(0.0d < scale, "scale must be positive");
+    final RandomSource random = this.random;
+    final Gamma gamma = new Gamma(shape);
+    return () -> gamma.sample(random) * scale;
+  }
+
+  /**
+   * Marsaglia and Tsang, "A simple method for generating gamma variables" (2000). Shapes below
+   * <tt>1</tt> are boosted: <tt>gamma(shape) = gamma(shape + 1) * u<sup>1 / shape</sup></tt>.
+   */
+  private static final class Gamma {
+
+    private final boolean boosted;
+    private final double inverseShape;
+    private final double d;
+    private final double c;
+
+    Gamma(double shape) {
+      this.boosted = shape < 1.0;
+      this.inverseShape = 1.0 / shape;
+      this.d = (boosted ? shape + 1.0 : shape) - 1.0 / 3.0;
+      this.c = 1.0 / sqrt(9.0 * d);
+    }
+
+    double sample(RandomSource random) {
+      final double x = standard(random);
+      return boosted ? x * pow(1.0 - random.nextDouble(), inverseShape) : x;
+    }
+
+    private double standard(RandomSource random) {
+      while (true) {
+        final double x = Ziggurat.normal(random);
+        double v = 1.0 + c * x;
+        if (v <= 0.0) {
+          continue;
+        }
+        v = v * v * v;
+        final double u = random.nextDouble();
+        final double x2 = x * x;
+        if (u < 1.0 - 0.0331 * x2 * x2 || log(u) < 0.5 * x2 + d * (1.0 - v + log(v))) {
+          return d * v;
+        }
+      }
+    }
+  }
+
+  /**
+   * Uses Jöhnk's algorithm when both parameters are at most <tt>1</tt>, and the ratio of two gamma
+   * variates otherwise.
+   *
+   * @param alpha
+   * @param beta
+   * @return a real number in <tt>[0, 1]</tt> with a beta distribution of mean
+   * <tt>alpha / (alpha + beta)</tt>.
+   * @throws IllegalArgumentException if <tt>alpha &lt;= 0</tt> or <tt>beta &lt;= 0</tt>
+   */
+  public double beta(double alpha, double beta) {
+    checkArgument(0.0d < alpha, "alpha must be positive");
+    checkArgument(0.0d < beta, "beta must be positive");
+    return new Beta(alpha, beta).sample(random);
+  }
+
+  /**
+   * Returns a sampler of the values of {@link #beta(double, double) beta(alpha, beta)}, which
+   * validates the parameters and computes the constants of its algorithm once rather than on each
+   * value.
+   *
+   * @param alpha
+   * @param beta
+   * @return
+   * @throws IllegalArgumentException if <tt>alpha &lt;= 0</tt> or <tt>beta &lt;= 0</tt>
+   */
+  public DoubleSampler betaSampler(double alpha, double beta) {
+    checkArgument(0.0d < alpha, "alpha must be positive");
+    checkArgument(0.0d < beta, "beta must be positive");
+    final RandomSource random = this.random;
+    final Beta b = new Beta(alpha, beta);
+    return () -> b.sample(random);
+  }
+
+  private static final class Beta {
+
+    private final double inverseAlpha;
+    private final double inverseBeta;
+    private final Gamma x;
+    private final Gamma y;
+
+    Beta(double alpha, double beta) {
+      this.inverseAlpha = 1.0 / alpha;
+      this.inverseBeta = 1.0 / beta;
+      if (alpha <= 1.0 && beta <= 1.0) {
+        this.x = this.y = null;
+      } else {
+        this.x = new Gamma(alpha);
+        this.y = new Gamma(beta);
+      }
+    }
+
+    double sample(RandomSource random) {
+      if (x != null) {
+        final double gx = x.sample(random);
+        return gx / (gx + y.sample(random));
+      }
+      // Jöhnk, accepting over pi / 4 of the pairs for such parameters.
+      while (true) {
+        final double u = random.nextDouble();
+        final double v = random.nextDouble();
+        final double px = pow(u, inverseAlpha);
+        final double py = pow(v, inverseBeta);
+        final double sum = px + py;
+        if (sum <= 1.0 && u + v > 0.0) {
+          if (sum > 0.0) {
+            return px / sum;
+          }
+          // Both powers underflowed: divide in log space.
+          double logX = log(u) * inverseAlpha;
+          double logY = log(v) * inverseBeta;
+          final double logM = max(logX, logY);
+          logX -= logM;
+          logY -= logM;
+          return exp(logX - log(exp(logX) + exp(logY)));
+        }
+      }
+    }
+  }
+
+  /**
+   * Normalizes gamma variates, or breaks a stick with beta variates when all the parameters are
+   * below <tt>0.1</tt>, where the gamma variates would all underflow to <tt>0</tt>.
+   *
+   * @param alpha the concentration parameters.
+   * @return a vector of <tt>alpha.length</tt> non-negative real numbers whose sum is <tt>1</tt>.
+   * @throws IllegalArgumentException if <tt>alpha</tt> is empty, or if
+   * <tt>alpha[<i>n</i>] &lt;= 0</tt>
+   */
+  public double[] dirichlet(double[] alpha) {
+    checkArgument(alpha.length > 0, "alpha must not be empty");
+    double largest = 0.0;
+    double remaining = 0.0;
+    for (double a : alpha) {
+      checkArgument(0.0d < a, "alpha must be positive");
+      largest = max(largest, a);
+      remaining += a;
+    }
+    final double[] result = new double[alpha.length];
+    final int last = alpha.length - 1;
+    if (largest < 0.1) {
+      double stick = 1.0;
+      for (int i = 0; i < last; i++) {
+        remaining -= alpha[i];
+        final double v = new Beta(alpha[i], max(remaining, Double.MIN_NORMAL)).sample(random);
+        result[i] = stick * v;
+        stick *= 1.0 - v;
+      }
+      result[last] = stick;
+      return result;
+    }
+    double sum = 0.0;
+    for (int i = 0; i <= last; i++) {
+      result[i] = new Gamma(alpha[i]).sample(random);
+      sum += result[i];
+    }
+    for (int i = 0; i <= last; i++) {
+      result[i] /= sum;
+    }
+    return result;
+  }
+
+  /**
+   * Uses Hörmann and Derflinger's rejection-inversion: constant memory, and a constant expected
+   * number of uniform values per call, whatever <tt>n</tt> is.
+   *
+   * @param n
+   * @param exponent
+   * @return an integer in <tt>[1, n]</tt>, with <tt>k</tt> drawn with a probability proportional to
+   * <tt>k<sup>-exponent</sup></tt>.
+   * @throws IllegalArgumentException if <tt>n &lt;= 0</tt> or <tt>exponent &lt;= 0</tt>
+   */
+  public int zipf(int n, double exponent) {
+    checkArgument(n > 0, "n must be positive");
+    checkArgument(0.0d < exponent, "exponent must be positive");
+    return new Zipf(n, exponent).sample(random);
+  }
+
+  /**
+   * Returns a sampler of the values of {@link #zipf(int, double) zipf(n, exponent)}, which
+   * validates the parameters and computes the constants of its algorithm once rather than on each
+   * value.
+   *
+   * @param n
+   * @param exponent
+   * @return
+   * @throws IllegalArgumentException if <tt>n &lt;= 0</tt> or <tt>exponent &lt;= 0</tt>
+   */
+  public IntSampler zipfSampler(int n, double exponent) {
+    checkArgument(n > 0, "n must be positive");
+    checkArgument(0.0d < exponent, "exponent must be positive");
+    final RandomSource random = this.random;
+    final Zipf zipf = new Zipf(n, exponent);
+    return () -> zipf.sample(random);
+  }
+
+  /**
+   * Hörmann and Derflinger, "Rejection-inversion to generate variates from monotone discrete
+   * distributions" (1996).
+   *
+   * <p>
+   * <tt>h(x) = x<sup>-exponent</sup></tt> is integrated by <tt>H</tt>; a value is drawn uniformly
+   * under <tt>H</tt> between <tt>H(1.5) - 1</tt> and <tt>H(n + 0.5)</tt>, inverted, and rounded to
+   * the nearest integer <tt>k</tt>, which is accepted if it falls under the histogram of
+   * <tt>h(k)</tt>.
+   */
+  private static final class Zipf {
+
+    private final int n;
+    private final double exponent;
+    private final double hIntegralX1;
+    private final double hIntegralN;
+    private final double s;
+
+    Zipf(int n, double exponent) {
+      this.n = n;
+      this.exponent = exponent;
+      this.hIntegralX1 = hIntegral(1.5) - 1.0;
+      this.hIntegralN = hIntegral(n + 0.5);
+      this.s = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2.0));
+    }
+
+    int sample(RandomSource random) {
+      while (true) {
+        final double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+        final double x = hIntegralInverse(u);
+        int k = (int) (x + 0.5);
+        if (k < 1) {
+          k = 1;
+        } else if (k > n) {
+          k = n;
+        }
+        // Values close enough to k are always accepted; only the others need H(k + 0.5).
+        if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+          return k;
+        }
+      }
+    }
+
+    /**
+     * <tt>H(x) = (x<sup>1 - exponent</sup> - 1) / (1 - exponent)</tt>, or <tt>log(x)</tt> if
+     * <tt>exponent = 1</tt>.
+     */
+    private double hIntegral(double x) {
+      final double logX = log(x);
+      return expm1OverX((1.0 - exponent) * logX) * logX;
+    }
+
+    private double h(double x) {
+      return exp(-exponent * log(x));
+    }
+
+    private double hIntegralInverse(double x) {
+      double t = x * (1.0 - exponent);
+      if (t < -1.0) {
+        // Limits the damage of rounding errors.
+        t = -1.0;
+      }
+      return exp(log1pOverX(t) * x);
+    }
+
+    /**
+     * <tt>log1p(x) / x</tt>, continuous at <tt>0</tt>.
+     */
+    private static double log1pOverX(double x) {
+      if (abs(x) > 1e-8) {
+        return log1p(x) / x;
+      }
+      return 1.0 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+    }
+
+    /**
+     * <tt>expm1(x) / x</tt>, continuous at <tt>0</tt>.
+     */
+    private static double expm1OverX(double x) {
+      if (abs(x) > 1e-8) {
+        return expm1(x) / x;
+      }
+      return 1.0 + x * 0.5 * (1.0 + x / 3.0 * (1.0 + 0.25 * x));
+    }
+  }
+
+  /**
+   * Fills <tt>array</tt> with values of {@link #uniform(double, double) uniform(a, b)}.
+   *
+   * @param array
+   * @param a
+   * @param b
+   * @throws IllegalArgumentException if <tt>a &gt;= b</tt>
+   */
+  public void fillUniform(double[] array, double a, double b) {
+    checkArgument(a < b, "invalid range");
+    final double width = b - a;
+    random.nextDoubles(array, 0, array.length);
+    for (int i = 0; i < array.length; i++) {
+      array[i] = a + array[i] * width;
+    }
+  }
+
+  /**
+   * Fills <tt>array</tt> with values of {@link #gaussian()}.
+   *
+   * @param array
+   */
+  public void fillGaussian(double[] array) {
+    final RandomSource random = this.random;
+    for (int i = 0; i < array.length; i++) {
+      array[i] = Ziggurat.normal(random);
+    }
+  }
+
+  /**
+   * Fills <tt>array</tt> with values of {@link #gaussian(double, double) gaussian(mean,
+   * standardDeviation)}.
+   *
+   * @param array
+   * @param mean
+   * @param standardDeviation
+   */
+  public void fillGaussian(double[] array, double mean, double standardDeviation) {
+    gaussianSampler(mean, standardDeviation).fill(array);
+  }
+
+  /**
+   * Fills <tt>array</tt> with values of {@link #exponential(double) exponential(lambda)}.
+   *
+   * @param array
+   * @param lambda
+   * @throws IllegalArgumentException if <tt>lambda &lt;= 0</tt>
+   */
+  public void fillExponential(double[] array, double lambda) {
+    exponentialSampler(lambda).fill(array);
+  }
+
+  /**
+   * Fills <tt>array</tt> with values of {@link #poisson(double) poisson(lambda)}.
+   *
+   * @param array
+   * @param lambda
+   * @throws IllegalArgumentException if <tt>lambda &lt;= 0</tt> or
+   * <tt>lambda &gt; Integer.MAX_VALUE</tt>, or if <tt>lambda</tt> is <tt>NaN</tt>.
+   */
+  public void fillPoisson(int[] array, double lambda) {
+    poissonSampler(lambda).fill(array);
+  }
+
+  /**
+   * Returns a stream of <tt>size</tt> values of {@link #uniform(double, double) uniform(a, b)}.
+   *
+   * <p>
+   * Like all the streams of this class, if the source of this distribution is a
+   * {@link SplittableRandomSource}, the stream is generated by a source split from it, and is split
+   * again whenever the stream is, so parallel streams need no synchronization. Otherwise the stream
+   * draws from the source of this distribution, and doesn't split.
+   *
+   * @param size
+   * @param a
+   * @param b
+   * @return
+   * @throws IllegalArgumentException if <tt>size &lt; 0</tt> or <tt>a &gt;= b</tt>
+   */
+  public DoubleStream uniforms(long size, double a, double b) {
+    return doubleStream(size, d -> d.uniformSampler(a, b));
+  }
+
+  /**
+   * Returns a stream of <tt>size</tt> values of {@link #gaussian(double, double) gaussian(mean,
+   * standardDeviation)}.
+   *
+   * @param size
+   * @param mean
+   * @param standardDeviation
+   * @return
+   * @throws IllegalArgumentException if <tt>size &lt; 0</tt>
+   * @see #uniforms(long, double, double)
+   */
+  public DoubleStream gaussians(long size, double mean, double standardDeviation) {
+    return doubleStream(size, d -> d.gaussianSampler(mean, standardDeviation));
+  }
+
+  /**
+   * Returns a stream of <tt>size</tt> values of {@link #exponential(double) exponential(lambda)}.
+   *
+   * @param size
+   * @param lambda
+   * @return
+   * @throws IllegalArgumentException if <tt>size &lt; 0</tt> or <tt>lambda &lt;= 0</tt>
+   * @see #uniforms(long, double, double)
+   */
+  public DoubleStream exponentials(long size, double lambda) {
+    return doubleStream(size, d -> d.exponentialSampler(lambda));
+  }
+
+  /**
+   * Returns a stream of <tt>size</tt> values of {@link #poisson(double) poisson(lambda)}.
+   *
+   * @param size
+   * @param lambda
+   * @return
+   * @throws IllegalArgumentException if <tt>size &lt; 0</tt>, if <tt>lambda &lt;= 0</tt> or
+   * <tt>lambda &gt; Integer.MAX_VALUE</tt>, or if <tt>lambda</tt> is <tt>NaN</tt>.
+   * @see #uniforms(long, double, double)
+   */
+  public IntStream poissons(long size, double lambda) {
+    return intStream(size, d -> d.poissonSampler(lambda));
+  }
+
+  /**
+   * Returns a stream of <tt>size</tt> values of {@link #uniform(int, int) uniform(a, b)}.
+   *
+   * @param size
+   * @param a
+   * @param b
+   * @return
+   * @throws IllegalArgumentException if <tt>size &lt; 0</tt>, if <tt>a &gt;= b</tt> or
+   * <tt>b - a &gt;= Integer.MAX_VALUE</tt>
+   * @see #uniforms(long, double, double)
+   */
+  public IntStream uniforms(long size, int a, int b) {
+    return intStream(size, d -> d.uniformSampler(a, b));
+  }
+
+  private DoubleStream doubleStream(long size, Function<RandomDistribution, DoubleSampler> factory) {
+    // Validates the parameters before anything is split.
+    factory.apply(this);
+    return RandomSource.doubleStream(random, size, source -> factory.apply(using(source))::sample);
+  }
+
+  private IntStream intStream(long size, Function<RandomDistribution, IntSampler> factory) {
+    // Validates the parameters before anything is split.
+    factory.apply(this);
+    return RandomSource.intStream(random, size, source -> factory.apply(using(source))::sample);
   }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.base;
+
+import static be.fror.common.base.Preconditions.checkArgument;
+import static be.fror.common.base.Preconditions.checkState;
+
+/**
+ * The Sobol sequence, with Joe and Kuo's direction numbers, in up to {@link #MAX_DIMENSION}
+ * dimensions.
+ *
+ * <p>
+ * Points are generated in Gray code order (Antonov and Saleev): each point is the previous one
+ * with a single direction number xor-ed into each coordinate. The coordinates have 52 bits, and
+ * the sequence has <tt>2<sup>52</sup></tt> points, the first one being the origin.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+public final class SobolSequence implements LowDiscrepancySequence {
+
+  public static final int MAX_DIMENSION = SobolDirectionNumbers.MAX_DIMENSION;
+
+  private static final int BITS = 52;
+  private static final double SCALE = 0x1.0p-52;
+
+  private final int dimension;
+  // Direction numbers: BITS per dimension.
+  private final long[] directions;
+  private final long[] coordinates;
+  private long index;
+
+  /**
+   * @param dimension
+   * @throws IllegalArgumentException if <tt>dimension</tt> isn't between <tt>1</tt> and
+   * {@link #MAX_DIMENSION}.
+   */
+  public SobolSequence(int dimension) {
+    checkArgument(1 <= dimension && dimension <= MAX_DIMENSION, "dimension must be between 1 and " + MAX_DIMENSION);
+    this.dimension = dimension;
+    this.directions = new long[dimension * BITS];
+    this.coordinates = new long[dimension];
+    for (int k = 0; k < BITS; k++) {
+      directions[k] = 1L << (BITS - 1 - k);
+    }
+    for (int d = 1; d < dimension; d++) {
+      initDirections(d, SobolDirectionNumbers.row(d + 1));
+    }
+  }
+
+  private void initDirections(int d, int[] row) {
+    final int offset = d * BITS;
+    final int s = row[0];
+    final int a = row[1];
+    for (int k = 0; k < s && k < BITS; k++) {
+      directions[offset + k] = (long) row[2 + k] << (BITS - 1 - k);
+    }
+    for (int k = s; k < BITS; k++) {
+      long v = directions[offset + k - s];
+      v ^= v >>> s;
+      for (int l = 1; l < s; l++) {
+        if (((a >>> (s - 1 - l)) & 1) != 0) {
+          v ^= directions[offset + k - l];
+        }
+      }
+      directions[offset + k] = v;
+    }
+  }
+
+  @Override
+  public int dimension() {
+    return dimension;
+  }
+
+  @Override
+  public long index() {
+    return index;
+  }
+
+  /**
+   * Sets the index of the next point, in <tt>O(dimension() * log(index))</tt> time.
+   *
+   * @param index
+   * @throws IllegalArgumentException if <tt>index</tt> is negative or greater than
+   * <tt>2<sup>52</sup></tt>.
+   */
+  @Override
+  public void skipTo(long index) {
+    checkArgument(0 <= index && index <= 1L << BITS, "index must be between 0 and 2^52");
+    final long gray = index ^ (index >>> 1);
+    for (int d = 0; d < dimension; d++) {
+      final int offset = d * BITS;
+      long x = 0;
+      for (long g = gray; g != 0; g &= g - 1) {
+        x ^= directions[offset + Long.numberOfTrailingZeros(g)];
+      }
+      coordinates[d] = x;
+    }
+    this.index = index;
+  }
+
+  @Override
+  public void next(double[] point) {
+    checkArgument(point.length == dimension, "point must have dimension() coordinates");
+    checkState(index < 1L << BITS, "the sequence is exhausted");
+    final long[] x = coordinates;
+    for (int d = 0; d < dimension; d++) {
+      point[d] = x[d] * SCALE;
+    }
+    // The next Gray code differs in the bit of the lowest zero bit of the index.
+    final int bit = Long.numberOfTrailingZeros(~index);
+    if (bit < BITS) {
+      for (int d = 0, i = bit; d < dimension; d++, i += BITS) {
+        x[d] ^= directions[i];
+      }
+    }
+    index++;
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.base;
+
+import static java.lang.Math.abs;
+
+import be.fror.common.random.RandomSource;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Marsaglia and Tsang's ziggurat method, with 256 layers.
+ *
+ * <p>
+ * The density is covered by 256 layers of equal area: a base layer holding the tail, and 255
+ * rectangles. A single <tt>nextLong()</tt> picks a layer with its high 8 bits and a point in it with
+ * the next 53 bits, so the lowest bits, the weakest of generators such as {@link
+ * be.fror.common.random.Xoroshiro128Plus xoroshiro128+}, are left unused. Over 98% of the points
+ * fall in the part of their rectangle that lies entirely under the density, and are returned with
+ * no further computation.
+ *
+ * <p>
+ * The tables and the slow paths use {@link StrictMath} so that the values only depend on the
+ * source.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+final class Ziggurat {
+
+  private static final int LAYERS = 256;
+
+  // Start of the tail and area of each layer, for f(x) = exp(-x * x / 2).
+  private static final double NORMAL_R = 3.6541528853610088;
+  private static final double NORMAL_V = 4.928673233974658e-3;
+
+  private static final double[] NORMAL_X = widths(NORMAL_R, NORMAL_V,
+      Ziggurat::normalDensity, y -> StrictMath.sqrt(-2 * StrictMath.log(y)));
+  private static final double[] NORMAL_RATIO = ratios(NORMAL_X);
+  private static final double[] NORMAL_F = densities(NORMAL_X, Ziggurat::normalDensity);
+
+  // Start of the tail and area of each layer, for f(x) = exp(-x).
+  private static final double EXPONENTIAL_R = 7.69711747013104972;
+  private static final double EXPONENTIAL_V = 3.9496598225815571993e-3;
+
+  private static final double[] EXPONENTIAL_X = widths(EXPONENTIAL_R, EXPONENTIAL_V,
+      Ziggurat::exponentialDensity, y -> -StrictMath.log(y));
+  private static final double[] EXPONENTIAL_RATIO = ratios(EXPONENTIAL_X);
+  private static final double[] EXPONENTIAL_F = densities(EXPONENTIAL_X, Ziggurat::exponentialDensity);
+
+  private Ziggurat() {
+  }
+
+  /**
+   * Returns the widths of the layers: <tt>x[i]</tt> is the width of layer <tt>i</tt>, and
+   * <tt>x[0]</tt> is the width of a rectangle as large as the base layer.
+   */
+  private static double[] widths(double r, double v, DoubleUnaryOperator f, DoubleUnaryOperator inverse) {
+    final double[] x = new double[LAYERS + 1];
+    x[0] = v / f.applyAsDouble(r);
+    x[1] = r;
+    for (int i = 1; i < LAYERS - 1; i++) {
+      x[i + 1] = inverse.applyAsDouble(v / x[i] + f.applyAsDouble(x[i]));
+    }
+    x[LAYERS] = 0;
+    return x;
+  }
+
+  /**
+   * <tt>ratio[i] = x[i + 1] / x[i]</tt>: the part of layer <tt>i</tt> under the density.
+   */
+  private static double[] ratios(double[] x) {
+    final double[] ratio = new double[LAYERS];
+    for (int i = 0; i < LAYERS; i++) {
+      ratio[i] = x[i + 1] / x[i];
+    }
+    return ratio;
+  }
+
+  /**
+   * <tt>f[i] = f(x[i])</tt>: the bottom of layer <tt>i</tt>, the top of layer <tt>i - 1</tt>.
+   */
+  private static double[] densities(double[] x, DoubleUnaryOperator density) {
+    final double[] f = new double[LAYERS + 1];
+    for (int i = 0; i <= LAYERS; i++) {
+      f[i] = density.applyAsDouble(x[i]);
+    }
+    return f;
+  }
+
+  /**
+   * @return a real number with a standard Gaussian distribution.
+   */
+  static double normal(RandomSource source) {
+    while (true) {
+      final long bits = source.nextLong();
+      final int i = (int) (bits >>> 56);
+      // Signed 53 bits below the layer: u is uniform in [-1, 1).
+      final double u = ((bits << 8) >> 11) * 0x1.0p-52;
+      final double x = u * NORMAL_X[i];
+      if (abs(u) < NORMAL_RATIO[i]) {
+        return x;
+      }
+      if (i == 0) {
+        return normalTail(source, u < 0);
+      }
+      final double y = NORMAL_F[i] + source.nextDouble() * (NORMAL_F[i + 1] - NORMAL_F[i]);
+      if (y < normalDensity(x)) {
+        return x;
+      }
+    }
+  }
+
+  private static double normalTail(RandomSource source, boolean negative) {
+    double x;
+    double y;
+    do {
+      x = -StrictMath.log(1 - source.nextDouble()) / NORMAL_R;
+      y = -StrictMath.log(1 - source.nextDouble());
+    } while (y + y < x * x);
+    return negative ? -(NORMAL_R + x) : NORMAL_R + x;
+  }
+
+  private static double normalDensity(double x) {
+    return StrictMath.exp(-0.5 * x * x);
+  }
+
+  /**
+   * @return a real number with an exponential distribution of mean <tt>1</tt>.
+   */
+  static double exponential(RandomSource source) {
+    final long bits = source.nextLong();
+    final int i = (int) (bits >>> 56);
+    // Unsigned 53 bits below the layer: u is uniform in [0, 1).
+    final double u = ((bits << 8) >>> 11) * 0x1.0p-53;
+    if (u < EXPONENTIAL_RATIO[i]) {
+      return u * EXPONENTIAL_X[i];
+    }
+    return exponentialSlowPath(source, i, u * EXPONENTIAL_X[i]);
+  }
+
+  private static double exponentialSlowPath(RandomSource source, int i, double x) {
+    if (i == 0) {
+      // The distribution is memoryless: the tail is the distribution shifted by its start.
+      return EXPONENTIAL_R + exponential(source);
+    }
+    final double y = EXPONENTIAL_F[i] + source.nextDouble() * (EXPONENTIAL_F[i + 1] - EXPONENTIAL_F[i]);
+    if (y < exponentialDensity(x)) {
+      return x;
+    }
+    return exponential(source);
+  }
+
+  private static double exponentialDensity(double x) {
+    return StrictMath.exp(-x);
+  }
+}
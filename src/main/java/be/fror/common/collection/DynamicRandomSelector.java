@@ -0,0 +1,387 @@
+/*
+ * Copyright 2015 Olivier Grégoire.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.collection;
+
+import static be.fror.common.base.Preconditions.checkArgument;
+import static be.fror.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import be.fror.common.random.RandomSource;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToDoubleFunction;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A random selector whose elements and weights can change, unlike {@link RandomSelector}.
+ *
+ * <p>
+ * The weights are kept in a Fenwick tree: {@link #setWeight(Object, double) updates},
+ * {@link #add(Object, double) additions}, {@link #remove(Object) removals} and
+ * {@link #next(RandomSource) selections} all run in <tt>O(log n)</tt> time. Any number of threads
+ * may select elements concurrently; updates lock them out while they run.
+ *
+ * <p>
+ * Example usage:
+ *
+ * <pre><code>
+ * DynamicRandomSelector&lt;String&gt; selector = DynamicRandomSelector.create();
+ * selector.add("a", 4d);
+ * selector.add("b", 3d);
+ * String selected = selector.next(random);
+ * selector.setWeight("a", 1d);
+ * </code></pre>
+ *
+ * @author Olivier Grégoire
+ * @param <T>
+ */
+@ThreadSafe
+public final class DynamicRandomSelector<T> {
+
+  /**
+   * Creates an empty selector.
+   *
+   * @param <T>
+   * @return
+   */
+  public static <T> DynamicRandomSelector<T> create() {
+    return new DynamicRandomSelector<>(16);
+  }
+
+  /**
+   * Creates a selector among <tt>elements</tt> where the elements have an initial weight defined
+   * by <tt>weighter</tt>, in <tt>O(n)</tt> time.
+   *
+   * @param <T>
+   * @param elements
+   * @param weighter
+   * @return
+   * @throws IllegalArgumentException if <tt>elements</tt> contains duplicates or if
+   * <tt>weighter</tt> returns a negative or non-finite value.
+   */
+  public static <T> DynamicRandomSelector<T> weighted(
+      final Collection<T> elements,
+      final ToDoubleFunction<? super T> weighter)
+      throws IllegalArgumentException {
+    requireNonNull(elements, "elements must not be null");
+    requireNonNull(weighter, "weighter must not be null");
+    final DynamicRandomSelector<T> selector = new DynamicRandomSelector<>(elements.size());
+    for (final T element : elements) {
+      requireNonNull(element, "elements must not contain null");
+      final double weight = weighter.applyAsDouble(element);
+      checkWeight(weight);
+      checkArgument(selector.indices.putIfAbsent(element, selector.size) == null, "elements must not contain duplicates");
+      selector.elements[selector.size] = element;
+      selector.weights[selector.size] = weight;
+      if (weight > 0d) {
+        selector.positives++;
+      }
+      selector.size++;
+    }
+    selector.rebuild();
+    return selector;
+  }
+
+  // Descents before next falls back to a scan of the weights.
+  private static final int MAX_ATTEMPTS = 64;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<T, Integer> indices = new HashMap<>();
+  private final RandomSourceCache sources = new RandomSourceCache();
+
+  private T[] elements;
+  private double[] weights;
+  // Fenwick tree over weights: tree[i] is the sum of the weights of (i - lowestOneBit(i), i].
+  // Its length minus one is a power of two, so tree[tree.length - 1] is the total weight.
+  private double[] tree;
+  private int size;
+  // Elements whose weight is positive: unlike the total of the tree, it has no rounding errors.
+  private int positives;
+  // Updates since the last rebuild, which accumulate rounding errors in the tree.
+  private int updates;
+
+  private DynamicRandomSelector(final int expectedSize) {
+    final int capacity = Integer.highestOneBit(Math.max(expectedSize, 1) * 2 - 1);
+    @SuppressWarnings("unchecked")
+    final T[] els = (T[]) new Object[capacity];
+    this.elements = els;
+    this.weights = new double[capacity];
+    this.tree = new double[capacity + 1];
+  }
+
+  private static void checkWeight(final double weight) {
+    checkArgument(weight >= 0d && weight < Double.POSITIVE_INFINITY, "weight must be finite and not negative");
+  }
+
+  /**
+   * Adds <tt>element</tt> with <tt>weight</tt>, unless it's already present.
+   *
+   * @param element
+   * @param weight
+   * @return <tt>true</tt> if the element was added, <tt>false</tt> if it was already present.
+   * @throws IllegalArgumentException if <tt>weight</tt> is negative or not finite.
+   */
+  public boolean add(final T element, final double weight) {
+    requireNonNull(element, "element must not be null");
+    checkWeight(weight);
+    final Lock w = lock.writeLock();
+    w.lock();
+    try {
+      if (indices.containsKey(element)) {
+        return false;
+      }
+      if (size == elements.length) {
+        grow();
+      }
+      final int i = size++;
+      indices.put(element, i);
+      elements[i] = element;
+      weights[i] = weight;
+      if (weight > 0d) {
+        positives++;
+      }
+      update(i, weight);
+      afterUpdates();
+      return true;
+    } finally {
+      w.unlock();
+    }
+  }
+
+  /**
+   * Sets the weight of <tt>element</tt>, adding it if it's not present.
+   *
+   * @param element
+   * @param weight
+   * @throws IllegalArgumentException if <tt>weight</tt> is negative or not finite.
+   */
+  public void setWeight(final T element, final double weight) {
+    requireNonNull(element, "element must not be null");
+    checkWeight(weight);
+    final Lock w = lock.writeLock();
+    w.lock();
+    try {
+      final Integer index = indices.get(element);
+      if (index == null) {
+        add(element, weight);
+        return;
+      }
+      final int i = index;
+      update(i, weight - weights[i]);
+      if (weights[i] > 0d) {
+        positives--;
+      }
+      if (weight > 0d) {
+        positives++;
+      }
+      weights[i] = weight;
+      afterUpdates();
+    } finally {
+      w.unlock();
+    }
+  }
+
+  /**
+   * Returns the weight of <tt>element</tt>, or <tt>0</tt> if it's not present.
+   *
+   * @param element
+   * @return
+   */
+  public double getWeight(final T element) {
+    final Lock r = lock.readLock();
+    r.lock();
+    try {
+      final Integer index = indices.get(element);
+      return index == null ? 0d : weights[index];
+    } finally {
+      r.unlock();
+    }
+  }
+
+  /**
+   * Removes <tt>element</tt>.
+   *
+   * @param element
+   * @return <tt>true</tt> if the element was present, <tt>false</tt> otherwise.
+   */
+  public boolean remove(final T element) {
+    final Lock w = lock.writeLock();
+    w.lock();
+    try {
+      final Integer index = indices.remove(element);
+      if (index == null) {
+        return false;
+      }
+      // The last element takes the place of the removed one.
+      final int i = index;
+      final int last = --size;
+      update(i, -weights[i]);
+      if (weights[i] > 0d) {
+        positives--;
+      }
+      if (i != last) {
+        final T moved = elements[last];
+        final double movedWeight = weights[last];
+        update(last, -movedWeight);
+        update(i, movedWeight);
+        elements[i] = moved;
+        weights[i] = movedWeight;
+        indices.put(moved, i);
+      }
+      elements[last] = null;
+      weights[last] = 0d;
+      afterUpdates();
+      return true;
+    } finally {
+      w.unlock();
+    }
+  }
+
+  /**
+   * @return the number of elements.
+   */
+  public int size() {
+    final Lock r = lock.readLock();
+    r.lock();
+    try {
+      return size;
+    } finally {
+      r.unlock();
+    }
+  }
+
+  /**
+   * Returns the next element using <tt>random</tt>.
+   *
+   * @param random
+   * @return
+   * @throws IllegalStateException if the total weight of the elements is <tt>0</tt>.
+   */
+  public T next(final Random random) {
+    return next(sources.of(random));
+  }
+
+  /**
+   * Returns the next element using <tt>source</tt>, in <tt>O(log n)</tt> time.
+   *
+   * @param source
+   * @return
+   * @throws IllegalStateException if the total weight of the elements is <tt>0</tt>.
+   */
+  public T next(final RandomSource source) {
+    requireNonNull(source, "source must not be null");
+    final Lock r = lock.readLock();
+    r.lock();
+    try {
+      checkState(positives > 0, "the total weight must be positive");
+      final double[] t = tree;
+      final int capacity = t.length - 1;
+      final double total = t[capacity];
+      for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+        // Descends to the first index whose cumulative weight exceeds u.
+        double u = source.nextDouble() * total;
+        int position = 0;
+        for (int step = capacity; step != 0; step >>>= 1) {
+          final int next = position + step;
+          if (next <= capacity && t[next] <= u) {
+            position = next;
+            u -= t[next];
+          }
+        }
+        // Rounding errors may lead past the elements, or to an element of weight 0.
+        if (position < size && weights[position] > 0d) {
+          return elements[position];
+        }
+      }
+      // The rounding errors of the tree outweigh the remaining weights: scans the exact weights.
+      return elements[scan(source)];
+    } finally {
+      r.unlock();
+    }
+  }
+
+  private int scan(final RandomSource source) {
+    final double[] w = weights;
+    double total = 0d;
+    for (int i = 0; i < size; i++) {
+      total += w[i];
+    }
+    double u = source.nextDouble() * total;
+    int last = 0;
+    for (int i = 0; i < size; i++) {
+      if (w[i] > 0d) {
+        last = i;
+        u -= w[i];
+        if (u < 0d) {
+          return i;
+        }
+      }
+    }
+    return last;
+  }
+
+  private void update(final int index, final double delta) {
+    final double[] t = tree;
+    for (int i = index + 1; i < t.length; i += i & -i) {
+      t[i] += delta;
+    }
+    updates++;
+  }
+
+  /**
+   * Rebuilds the tree once the updates are as many as the elements, which keeps the amortized
+   * cost of an update in <tt>O(log n)</tt>. Called once the weights are consistent again.
+   */
+  private void afterUpdates() {
+    if (updates > elements.length) {
+      rebuild();
+    }
+  }
+
+  private void grow() {
+    final int capacity = elements.length * 2;
+    checkState(capacity > 0, "too many elements");
+    elements = Arrays.copyOf(elements, capacity);
+    weights = Arrays.copyOf(weights, capacity);
+    tree = new double[capacity + 1];
+    rebuild();
+  }
+
+  /**
+   * Rebuilds the tree from the weights in <tt>O(n)</tt> time, discarding the rounding errors of
+   * the updates.
+   */
+  private void rebuild() {
+    final double[] t = tree;
+    Arrays.fill(t, 0d);
+    System.arraycopy(weights, 0, t, 1, weights.length);
+    for (int i = 1; i < t.length; i++) {
+      final int parent = i + (i & -i);
+      if (parent < t.length) {
+        t[parent] += t[i];
+      }
+    }
+    updates = 0;
+  }
+}
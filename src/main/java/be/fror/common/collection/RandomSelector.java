@@ -20,9 +20,18 @@ import static java.util.Objects.requireNonNull;
 import static java.util.Spliterator.IMMUTABLE;
 import static java.util.Spliterator.ORDERED;
 
+import be.fror.common.base.AliasTable;
+import be.fror.common.random.RandomSource;
+import be.fror.common.random.SplittableRandomSource;
+
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.Spliterators;
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
@@ -79,7 +88,7 @@ public final class RandomSelector<T> {
     final int size = elements.size();
     final T[] els = elements.toArray((T[]) new Object[size]);
 
-    return new RandomSelector<>(els, r -> r.nextInt(size));
+    return new RandomSelector<>(els, r -> r.nextInt(size), null);
   }
 
   /**
@@ -108,26 +117,27 @@ public final class RandomSelector<T> {
     final int size = elements.size();
     final T[] elementArray = elements.toArray((T[]) new Object[size]);
 
-    double totalWeight = 0d;
-    final double[] discreteProbabilities = new double[size];
+    final double[] weights = new double[size];
     for (int i = 0; i < size; i++) {
       final double weight = weighter.applyAsDouble(elementArray[i]);
       checkArgument(weight > 0d, "weighter returned a negative number");
-      discreteProbabilities[i] = weight;
-      totalWeight += weight;
-    }
-    for (int i = 0; i < size; i++) {
-      discreteProbabilities[i] /= totalWeight;
+      weights[i] = weight;
     }
-    return new RandomSelector<>(elementArray, new RandomWeightedSelection(discreteProbabilities));
+    return new RandomSelector<>(elementArray, new AliasTable(weights)::sample, weights);
   }
 
   private final T[] elements;
-  private final ToIntFunction<Random> selection;
+  private final ToIntFunction<RandomSource> selection;
+  // The weights of the elements, or null if the selection is uniform.
+  private final double[] weights;
+  // Fenwick tree over weights, built by the first sample without replacement that needs it.
+  private volatile double[] weightTree;
+  private final RandomSourceCache sources = new RandomSourceCache();
 
-  RandomSelector(final T[] elements, final ToIntFunction<Random> selection) {
+  RandomSelector(final T[] elements, final ToIntFunction<RandomSource> selection, final double[] weights) {
     this.elements = elements;
     this.selection = selection;
+    this.weights = weights;
   }
 
   /**
@@ -137,7 +147,375 @@ public final class RandomSelector<T> {
    * @return
    */
   public T next(final Random random) {
-    return elements[selection.applyAsInt(random)];
+    return next(sources.of(random));
+  }
+
+  /**
+   * Returns the next element using <tt>source</tt>.
+   *
+   * @param source
+   * @return
+   */
+  public T next(final RandomSource source) {
+    return elements[selection.applyAsInt(source)];
+  }
+
+  /**
+   * This method is equivalent to
+   *
+   * <pre><code>next(RandomSource.of(random), out)</code></pre>
+   *
+   * @param random
+   * @param out
+   */
+  public void next(final Random random, final T[] out) {
+    next(sources.of(random), out);
+  }
+
+  /**
+   * Fills <tt>out</tt> with the next <tt>out.length</tt> elements using <tt>source</tt>. The
+   * elements are the same as the ones <tt>out.length</tt> successive calls to
+   * {@link #next(RandomSource)} would return.
+   *
+   * @param source
+   * @param out
+   */
+  public void next(final RandomSource source, final T[] out) {
+    requireNonNull(source, "source must not be null");
+    final T[] els = elements;
+    final ToIntFunction<RandomSource> s = selection;
+    for (int i = 0; i < out.length; i++) {
+      out[i] = els[s.applyAsInt(source)];
+    }
+  }
+
+  /**
+   * This method is equivalent to
+   *
+   * <pre><code>nextIndices(RandomSource.of(random), count)</code></pre>
+   *
+   * @param random
+   * @param count
+   * @return
+   * @throws IllegalArgumentException if <tt>count &lt; 0</tt>
+   */
+  public int[] nextIndices(final Random random, final int count) {
+    return nextIndices(sources.of(random), count);
+  }
+
+  /**
+   * Returns the indices of the next <tt>count</tt> elements using <tt>source</tt>, as defined by
+   * {@link #get(int)}. The indices are those of the elements <tt>count</tt> successive calls to
+   * {@link #next(RandomSource)} would return.
+   *
+   * @param source
+   * @param count
+   * @return
+   * @throws IllegalArgumentException if <tt>count &lt; 0</tt>
+   */
+  public int[] nextIndices(final RandomSource source, final int count) {
+    requireNonNull(source, "source must not be null");
+    checkArgument(count >= 0, "count must not be negative");
+    final int[] indices = new int[count];
+    final ToIntFunction<RandomSource> s = selection;
+    for (int i = 0; i < count; i++) {
+      indices[i] = s.applyAsInt(source);
+    }
+    return indices;
+  }
+
+  /**
+   * This method is equivalent to
+   *
+   * <pre><code>count(RandomSource.of(random), selections, histogram)</code></pre>
+   *
+   * @param random
+   * @param selections
+   * @param histogram
+   * @throws IllegalArgumentException if <tt>selections &lt; 0</tt> or if
+   * <tt>histogram.length != size()</tt>
+   */
+  public void count(final Random random, final long selections, final int[] histogram) {
+    count(sources.of(random), selections, histogram);
+  }
+
+  /**
+   * Makes <tt>selections</tt> selections using <tt>source</tt>, and adds to
+   * <tt>histogram[i]</tt> the number of times the element of index <tt>i</tt> was selected.
+   *
+   * @param source
+   * @param selections
+   * @param histogram
+   * @throws IllegalArgumentException if <tt>selections &lt; 0</tt> or if
+   * <tt>histogram.length != size()</tt>
+   */
+  public void count(final RandomSource source, final long selections, final int[] histogram) {
+    requireNonNull(source, "source must not be null");
+    checkArgument(selections >= 0L, "selections must not be negative");
+    checkArgument(histogram.length == elements.length, "histogram must have size() counts");
+    final ToIntFunction<RandomSource> s = selection;
+    for (long i = 0; i < selections; i++) {
+      histogram[s.applyAsInt(source)]++;
+    }
+  }
+
+  /**
+   * @return the number of elements this selector selects from.
+   */
+  public int size() {
+    return elements.length;
+  }
+
+  /**
+   * Returns the element of index <tt>index</tt>, in the iteration order of the collection this
+   * selector was created from.
+   *
+   * @param index
+   * @return
+   * @throws IndexOutOfBoundsException if <tt>index</tt> isn't in <tt>[0, size())</tt>
+   */
+  public T get(final int index) {
+    return elements[index];
+  }
+
+  /**
+   * This method is equivalent to
+   *
+   * <pre><code>sampleWithoutReplacement(RandomSource.of(random), k)</code></pre>
+   *
+   * @param random
+   * @param k
+   * @return
+   * @throws IllegalArgumentException if <tt>k</tt> isn't in <tt>[0, size()]</tt>
+   */
+  public List<T> sampleWithoutReplacement(final Random random, final int k) {
+    return sampleWithoutReplacement(sources.of(random), k);
+  }
+
+  /**
+   * Returns <tt>k</tt> distinct elements using <tt>source</tt>, in the order they were selected:
+   * each element is selected among the elements that weren't selected yet, according to their
+   * weights.
+   *
+   * <p>
+   * A uniform selector runs in <tt>O(k)</tt> time. A weighted selector runs in
+   * <tt>O(k log n)</tt> time while <tt>k</tt> is small compared to <tt>n</tt>, by descending a tree
+   * of the weights that it builds on its first such call. Otherwise, it runs the A-ExpJ algorithm
+   * of Efraimidis and Spirakis in a single pass over the weights, with <tt>O(k log(n/k))</tt>
+   * random numbers and heap updates.
+   *
+   * @param source
+   * @param k
+   * @return
+   * @throws IllegalArgumentException if <tt>k</tt> isn't in <tt>[0, size()]</tt>
+   */
+  public List<T> sampleWithoutReplacement(final RandomSource source, final int k) {
+    requireNonNull(source, "source must not be null");
+    final int size = elements.length;
+    checkArgument(0 <= k && k <= size, "k must be in [0, size()]");
+    final int[] indices;
+    if (weights == null) {
+      indices = uniformSample(source, k);
+    } else if (size <= 1 << 30 && (long) k * (33 - Integer.numberOfLeadingZeros(size)) * 8 <= size) {
+      // A descent costs a cache miss or two per level: below this, it beats a pass over the weights.
+      indices = treeSample(source, k);
+    } else {
+      indices = reservoirSample(source, k);
+    }
+    final List<T> sample = new ArrayList<>(k);
+    for (final int index : indices) {
+      sample.add(elements[index]);
+    }
+    return sample;
+  }
+
+  /**
+   * A partial Fisher-Yates shuffle, which only records the positions it swapped.
+   */
+  private int[] uniformSample(final RandomSource source, final int k) {
+    final int size = elements.length;
+    final int[] indices = new int[k];
+    final Map<Integer, Integer> swapped = new HashMap<>();
+    for (int i = 0; i < k; i++) {
+      final int j = i + source.nextInt(size - i);
+      final Integer atI = swapped.get(i);
+      final Integer atJ = swapped.get(j);
+      indices[i] = atJ == null ? j : atJ;
+      swapped.put(j, atI == null ? i : atI);
+    }
+    return indices;
+  }
+
+  /**
+   * Successive selections in the Fenwick tree of the weights. The tree is shared, so the weights of
+   * the selected elements are subtracted from its nodes in a separate map.
+   */
+  private int[] treeSample(final RandomSource source, final int k) {
+    final double[] w = weights;
+    final double[] t = weightTree();
+    final int capacity = t.length - 1;
+    final int[] indices = new int[k];
+    // Each selection updates at most one node per level of the tree.
+    final NodeMap removed = new NodeMap(k * (Integer.numberOfTrailingZeros(capacity) + 1));
+    // Keyed by position + 1, as the map doesn't take 0.
+    final NodeMap selected = new NodeMap(k);
+    int failures = 0;
+    for (int i = 0; i < k;) {
+      double u = source.nextDouble() * (t[capacity] - removed.get(capacity));
+      int position = 0;
+      for (int step = capacity; step != 0; step >>>= 1) {
+        final int next = position + step;
+        if (next <= capacity) {
+          final double weight = t[next] - removed.get(next);
+          if (weight <= u) {
+            position = next;
+            u -= weight;
+          }
+        }
+      }
+      // Rounding errors may lead past the elements, or to an element already selected.
+      if (position < w.length && selected.add(position + 1, 1d) == 0d) {
+        indices[i++] = position;
+        for (int node = position + 1; node <= capacity; node += node & -node) {
+          removed.add(node, w[position]);
+        }
+      } else if (++failures > k + 64) {
+        // The remaining weight is lost in the rounding errors of the removed ones.
+        return reservoirSample(source, k);
+      }
+    }
+    return indices;
+  }
+
+  /**
+   * A map of positive <tt>int</tt> keys to <tt>double</tt> sums, open-addressed with linear
+   * probing in a table at most half full, so that tree descents don't box their nodes.
+   */
+  private static final class NodeMap {
+
+    private final int[] keys;
+    private final double[] values;
+    private final int shift;
+
+    NodeMap(final int maxSize) {
+      final int length = Integer.highestOneBit(Math.max(maxSize, 1) * 4 - 1);
+      this.keys = new int[length];
+      this.values = new double[length];
+      this.shift = Integer.numberOfLeadingZeros(length) + 1;
+    }
+
+    private int slot(final int key) {
+      final int mask = keys.length - 1;
+      int slot = (key * 0x9e3779b9) >>> shift;
+      while (keys[slot] != key && keys[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      return slot;
+    }
+
+    /**
+     * @return the sum of the values added to <tt>key</tt>, or <tt>0</tt> if none was.
+     */
+    double get(final int key) {
+      return values[slot(key)];
+    }
+
+    /**
+     * @return the sum of the values added to <tt>key</tt> before this one.
+     */
+    double add(final int key, final double value) {
+      final int slot = slot(key);
+      keys[slot] = key;
+      final double previous = values[slot];
+      values[slot] = previous + value;
+      return previous;
+    }
+  }
+
+  private double[] weightTree() {
+    double[] t = weightTree;
+    if (t == null) {
+      final int size = weights.length;
+      final int capacity = Integer.highestOneBit(size * 2 - 1);
+      t = new double[capacity + 1];
+      System.arraycopy(weights, 0, t, 1, size);
+      for (int i = 1; i < t.length; i++) {
+        final int parent = i + (i & -i);
+        if (parent < t.length) {
+          t[parent] += t[i];
+        }
+      }
+      weightTree = t;
+    }
+    return t;
+  }
+
+  /**
+   * The A-ExpJ algorithm: the element of weight <tt>w</tt> gets the key <tt>u<sup>1/w</sup></tt>
+   * and the <tt>k</tt> largest keys are kept, skipping ahead by exponential jumps over the elements
+   * whose key wouldn't be kept. The keys are handled as logarithms, which the smallest weights
+   * would otherwise round to <tt>0</tt>.
+   */
+  private int[] reservoirSample(final RandomSource source, final int k) {
+    final double[] w = weights;
+    final int[] indices = new int[k];
+    if (k == 0) {
+      return indices;
+    }
+    // Min-heap of the kept keys.
+    final double[] keys = new double[k];
+    final int[] heap = new int[k];
+    for (int i = 0; i < k; i++) {
+      keys[i] = Math.log(1d - source.nextDouble()) / w[i];
+      heap[i] = i;
+    }
+    for (int i = k / 2 - 1; i >= 0; i--) {
+      siftDown(keys, heap, i, k);
+    }
+    double threshold = keys[0];
+    double skip = Math.log(1d - source.nextDouble()) / threshold;
+    for (int i = k; i < w.length; i++) {
+      skip -= w[i];
+      if (skip <= 0d) {
+        // The key of i is drawn among the keys above the threshold.
+        final double low = Math.exp(threshold * w[i]);
+        keys[0] = Math.log(low + (1d - low) * (1d - source.nextDouble())) / w[i];
+        heap[0] = i;
+        siftDown(keys, heap, 0, k);
+        threshold = keys[0];
+        skip = Math.log(1d - source.nextDouble()) / threshold;
+      }
+    }
+    // Selection order is the order of decreasing keys.
+    for (int size = k; size > 0; size--) {
+      indices[size - 1] = heap[0];
+      keys[0] = keys[size - 1];
+      heap[0] = heap[size - 1];
+      siftDown(keys, heap, 0, size - 1);
+    }
+    return indices;
+  }
+
+  private static void siftDown(final double[] keys, final int[] heap, int i, final int size) {
+    final double key = keys[i];
+    final int index = heap[i];
+    while (true) {
+      int child = 2 * i + 1;
+      if (child >= size) {
+        break;
+      }
+      if (child + 1 < size && keys[child + 1] < keys[child]) {
+        child++;
+      }
+      if (keys[child] >= key) {
+        break;
+      }
+      keys[i] = keys[child];
+      heap[i] = heap[child];
+      i = child;
+    }
+    keys[i] = key;
+    heap[i] = index;
   }
 
   /**
@@ -154,21 +532,66 @@ public final class RandomSelector<T> {
    */
   public Stream<T> stream(final Random random) {
     requireNonNull(random, "random must not be null");
+    return stream(sources.of(random));
+  }
+
+  /**
+   * Returns a stream of elements using <tt>source</tt>. The stream must use a terminal operation
+   * to become closed and free the resources it's been using.
+   *
+   * @param source
+   * @return
+   */
+  public Stream<T> stream(final RandomSource source) {
+    requireNonNull(source, "source must not be null");
     return StreamSupport.stream(
         Spliterators.spliteratorUnknownSize(
-            new BaseIterator(random),
+            new BaseIterator(source),
             IMMUTABLE | ORDERED
         ),
         false
     );
   }
 
+  /**
+   * This method is equivalent to
+   *
+   * <pre><code>stream(size, SplittableRandomSource.of(random))</code></pre>
+   *
+   * @param size
+   * @param random
+   * @return
+   * @throws IllegalArgumentException if <tt>size &lt; 0</tt>
+   */
+  public Stream<T> stream(final long size, final SplittableRandom random) {
+    requireNonNull(random, "random must not be null");
+    return stream(size, SplittableRandomSource.of(random));
+  }
+
+  /**
+   * Returns a stream of <tt>size</tt> elements. The stream is generated by a source split from
+   * <tt>source</tt>, and is split again whenever the stream is, so parallel streams need no
+   * synchronization. For a given state of <tt>source</tt>, the elements are reproducible as long as
+   * the stream is split the same way: sequential and parallel streams yield different elements.
+   *
+   * @param size
+   * @param source
+   * @return
+   * @throws IllegalArgumentException if <tt>size &lt; 0</tt>
+   */
+  public Stream<T> stream(final long size, final SplittableRandomSource source) {
+    requireNonNull(source, "source must not be null");
+    final T[] els = elements;
+    final ToIntFunction<RandomSource> s = selection;
+    return RandomSource.intStream(source, size, r -> () -> s.applyAsInt(r)).mapToObj(i -> els[i]);
+  }
+
   private class BaseIterator implements Iterator<T> {
 
-    private final Random random;
+    private final RandomSource source;
 
-    BaseIterator(final Random random) {
-      this.random = random;
+    BaseIterator(final RandomSource source) {
+      this.source = source;
     }
 
     @Override
@@ -178,65 +601,7 @@ public final class RandomSelector<T> {
 
     @Override
     public T next() {
-      return RandomSelector.this.next(this.random);
-    }
-  }
-
-  private static class RandomWeightedSelection implements ToIntFunction<Random> {
-    // Alias method implementation O(1)
-    // using Vose's algorithm to initialize O(n)
-
-    private final double[] probabilities;
-    private final int[] alias;
-
-    RandomWeightedSelection(final double[] probabilities) {
-      final int size = probabilities.length;
-
-      final double average = 1d / size;
-      final int[] small = new int[size];
-      int smallSize = 0;
-      final int[] large = new int[size];
-      int largeSize = 0;
-
-      for (int i = 0; i < size; i++) {
-        if (probabilities[i] < average) {
-          small[smallSize++] = i;
-        } else {
-          large[largeSize++] = i;
-        }
-      }
-
-      final double[] pr = new double[size];
-      final int[] al = new int[size];
-      this.probabilities = pr;
-      this.alias = al;
-
-      while (largeSize != 0 && smallSize != 0) {
-        final int less = small[--smallSize];
-        final int more = large[--largeSize];
-        pr[less] = probabilities[less] * size;
-        al[less] = more;
-        probabilities[more] += probabilities[less] - average;
-        if (probabilities[more] < average) {
-          small[smallSize++] = more;
-        } else {
-          large[largeSize++] = more;
-        }
-      }
-      while (smallSize != 0) {
-        pr[small[--smallSize]] = 1d;
-      }
-      while (largeSize != 0) {
-        pr[large[--largeSize]] = 1d;
-      }
-    }
-
-    @Override
-    public int applyAsInt(final Random random) {
-      final int column = random.nextInt(probabilities.length);
-      return random.nextDouble() < probabilities[column]
-          ? column
-          : alias[column];
+      return RandomSelector.this.next(this.source);
     }
   }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2015 Olivier Grégoire.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.collection;
+
+import be.fror.common.random.RandomSource;
+
+import java.util.Random;
+
+/**
+ * The {@link RandomSource} view of the last {@link Random} used by a selector, so that selecting
+ * repeatedly with the same <tt>Random</tt> doesn't create a view for each selection.
+ *
+ * @author Olivier Grégoire
+ */
+final class RandomSourceCache {
+
+  // Entries are immutable, so a thread sees either null or a complete entry.
+  private Entry last;
+
+  /**
+   * Returns the same as {@link RandomSource#of(Random)}.
+   */
+  RandomSource of(final Random random) {
+    if (random instanceof RandomSource) {
+      return (RandomSource) random;
+    }
+    final Entry entry = last;
+    if (entry != null && entry.random == random) {
+      return entry.source;
+    }
+    final RandomSource source = RandomSource.of(random);
+    last = new Entry(random, source);
+    return source;
+  }
+
+  private static final class Entry {
+
+    final Random random;
+    final RandomSource source;
+
+    Entry(final Random random, final RandomSource source) {
+      this.random = random;
+      this.source = source;
+    }
+  }
+}
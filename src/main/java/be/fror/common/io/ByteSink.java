@@ -43,6 +43,15 @@ public abstract class ByteSink {
 
   protected abstract OutputStream doOpenStream() throws IOException;
 
+  public void write(byte[] bytes) throws UncheckedIOException {
+    checkNotNull(bytes);
+    try (OutputStream out = doOpenStream()) {
+      out.write(bytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   public CharSink asCharSink(Charset charset) {
     return new AsCharSink(checkNotNull(charset));
   }
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import be.fror.common.io.ByteSink;
+import be.fror.common.io.ByteSource;
+
+import java.io.UncheckedIOException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Base class of the small-state generators. They are {@link RandomSource}s rather than
+ * {@link Random}s so that creating one costs no more than allocating its state;
+ * {@link #asRandom()} provides a view for the APIs that require a <tt>Random</tt>.
+ *
+ * <p>
+ * Instances are not thread-safe: {@link #split()} them instead of sharing them.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+abstract class AbstractGenerator implements SplittableRandomSource {
+
+  private static final AtomicLong SEED_UNIQUIFIER = new AtomicLong(System.nanoTime());
+
+  AbstractGenerator() {
+  }
+
+  /**
+   * Returns a seed that differs for each call, for the constructors without a seed.
+   */
+  static long randomSeed() {
+    return SplitMix64.mix64(SEED_UNIQUIFIER.addAndGet(SplitMix64.GOLDEN_GAMMA) ^ System.nanoTime());
+  }
+
+  /**
+   * @return the high 32 bits of {@link #nextLong()}.
+   */
+  @Override
+  public int nextInt() {
+    return (int) (nextLong() >>> 32);
+  }
+
+  @Override
+  public abstract AbstractGenerator split();
+
+  /**
+   * Returns the state of this generator, from which {@link #restoreState(byte[])} resumes the
+   * exact same sequence.
+   *
+   * @return
+   */
+  public abstract byte[] saveState();
+
+  /**
+   * Sets the state of this generator to <tt>state</tt>, as returned by {@link #saveState()} on a
+   * generator of the same class.
+   *
+   * @param state
+   * @throws IllegalArgumentException if <tt>state</tt> isn't a state of this class of generator.
+   */
+  public abstract void restoreState(byte[] state);
+
+  /**
+   * Writes the state of this generator to <tt>sink</tt>.
+   *
+   * @param sink
+   * @throws UncheckedIOException if an I/O error occurs.
+   */
+  public void saveState(ByteSink sink) throws UncheckedIOException {
+    sink.write(saveState());
+  }
+
+  /**
+   * Sets the state of this generator to the state read from <tt>source</tt>.
+   *
+   * @param source
+   * @throws UncheckedIOException if an I/O error occurs.
+   * @throws IllegalArgumentException if <tt>source</tt> doesn't contain a state of this class of
+   * generator.
+   */
+  public void restoreState(ByteSource source) throws UncheckedIOException {
+    restoreState(source.read());
+  }
+
+  /**
+   * Returns a view of this generator as a {@link Random}, for the APIs that require one. The view
+   * can't be reseeded.
+   *
+   * @return
+   */
+  public Random asRandom() {
+    return new RandomAdapter(this);
+  }
+
+  /**
+   * Returns a stream of <tt>size</tt> values as returned by {@link #nextInt()}. The stream is
+   * generated by a generator split from this one, and is split again whenever the stream is, so
+   * parallel streams need no synchronization.
+   *
+   * @param size
+   * @return
+   * @throws IllegalArgumentException if <tt>size &lt; 0</tt>
+   */
+  public IntStream ints(long size) {
+    return RandomSource.intStream(this, size, g -> g::nextInt);
+  }
+
+  /**
+   * Returns a stream of <tt>size</tt> values as returned by {@link #nextLong()}. The stream is
+   * generated by a generator split from this one, and is split again whenever the stream is, so
+   * parallel streams need no synchronization.
+   *
+   * @param size
+   * @return
+   * @throws IllegalArgumentException if <tt>size &lt; 0</tt>
+   */
+  public LongStream longs(long size) {
+    return RandomSource.longStream(this, size, g -> g::nextLong);
+  }
+
+  /**
+   * Returns a stream of <tt>size</tt> values as returned by {@link #nextDouble()}. The stream is
+   * generated by a generator split from this one, and is split again whenever the stream is, so
+   * parallel streams need no synchronization.
+   *
+   * @param size
+   * @return
+   * @throws IllegalArgumentException if <tt>size &lt; 0</tt>
+   */
+  public DoubleStream doubles(long size) {
+    return RandomSource.doubleStream(this, size, g -> g::nextDouble);
+  }
+
+  private static final class RandomAdapter extends Random implements RandomSource {
+
+    private final AbstractGenerator generator;
+
+    RandomAdapter(AbstractGenerator generator) {
+      this.generator = generator;
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+      // Random's constructor sets the seed before the generator is assigned.
+      if (generator != null) {
+        throw new UnsupportedOperationException();
+      }
+    }
+
+    @Override
+    protected int next(int bits) {
+      return generator.nextInt() >>> (32 - bits);
+    }
+
+    @Override
+    public int nextInt() {
+      return generator.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+      return generator.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+      return generator.nextLong();
+    }
+
+    @Override
+    public double nextDouble() {
+      return generator.nextDouble();
+    }
+
+    @Override
+    public boolean nextBoolean() {
+      return generator.nextBoolean();
+    }
+
+    @Override
+    public void nextInts(int[] array, int offset, int length) {
+      generator.nextInts(array, offset, length);
+    }
+
+    @Override
+    public void nextLongs(long[] array, int offset, int length) {
+      generator.nextLongs(array, offset, length);
+    }
+
+    @Override
+    public void nextDoubles(double[] array, int offset, int length) {
+      generator.nextDoubles(array, offset, length);
+    }
+
+    @Override
+    public String toString() {
+      return generator + ".asRandom()";
+    }
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2015 Olivier Grégoire <fror@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import static be.fror.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+
+/**
+ * Polynomials over GF(2), stored as bit sets: bit <tt>i</tt> of the array is the coefficient of
+ * <tt>x<sup>i</sup></tt>.
+ *
+ * <p>
+ * Used to compute jump-ahead polynomials of F2-linear generators.
+ *
+ * @author Olivier Grégoire <fror@users.noreply.github.com>
+ */
+final class BinaryPolynomials {
+
+  private BinaryPolynomials() {
+  }
+
+  static boolean testBit(long[] polynomial, int i) {
+    final int word = i >>> 6;
+    return word < polynomial.length && (polynomial[word] & (1L << i)) != 0;
+  }
+
+  static int degree(long[] polynomial) {
+    for (int word = polynomial.length - 1; word >= 0; word--) {
+      if (polynomial[word] != 0) {
+        return (word << 6) + 63 - Long.numberOfLeadingZeros(polynomial[word]);
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the minimal polynomial of the linear recurrence generating the first <tt>length</tt>
+   * bits of <tt>sequence</tt>, using the Berlekamp-Massey algorithm.
+   *
+   * <p>
+   * At least twice as many bits as the degree of the recurrence are required.
+   *
+   * @param sequence
+   * @param length
+   * @return
+   */
+  static long[] minimalPolynomial(long[] sequence, int length) {
+    checkArgument(length > 0 && length <= sequence.length * 64L);
+    // Reversing the sequence turns each discrepancy into the parity of a word-wise AND.
+    final long[] reversed = new long[words(length) + 1];
+    for (int i = 0; i < length; i++) {
+      if (testBit(sequence, i)) {
+        setBit(reversed, length - 1 - i);
+      }
+    }
+    long[] c = new long[words(length + 1)];
+    long[] b = new long[c.length];
+    c[0] = 1L;
+    b[0] = 1L;
+    int l = 0;
+    int m = -1;
+    for (int n = 0; n < length; n++) {
+      final int offset = length - 1 - n;
+      long discrepancy = 0L;
+      for (int word = 0, last = l >>> 6; word <= last; word++) {
+        discrepancy ^= c[word] & bits(reversed, offset + (word << 6));
+      }
+      if ((Long.bitCount(discrepancy) & 1) != 0) {
+        final long[] t = c.clone();
+        shiftXor(c, b, n - m);
+        if (2 * l <= n) {
+          l = n + 1 - l;
+          m = n;
+          b = t;
+        }
+      }
+    }
+    // c is the connection polynomial; the minimal polynomial is its reciprocal.
+    final long[] polynomial = new long[words(l + 1)];
+    for (int i = 0; i <= l; i++) {
+      if (testBit(c, i)) {
+        setBit(polynomial, l - i);
+      }
+    }
+    return polynomial;
+  }
+
+  /**
+   * Returns <tt>x<sup>2<sup>log2</sup></sup> mod modulus</tt>.
+   *
+   * @param log2
+   * @param modulus
+   * @return
+   */
+  static long[] xPowerOfTwoModulo(int log2, long[] modulus) {
+    checkArgument(log2 >= 0);
+    final int degree = degree(modulus);
+    checkArgument(degree > 1);
+    long[] result = new long[words(degree)];
+    setBit(result, 1);
+    final long[] square = new long[2 * result.length];
+    for (int i = 0; i < log2; i++) {
+      Arrays.fill(square, 0L);
+      for (int word = 0; word < result.length; word++) {
+        square[2 * word] = spread((int) result[word]);
+        square[2 * word + 1] = spread((int) (result[word] >>> 32));
+      }
+      for (int bit = 2 * degree - 2; bit >= degree; bit--) {
+        if ((square[bit >>> 6] & (1L << bit)) != 0) {
+          shiftXor(square, modulus, bit - degree);
+        }
+      }
+      result = Arrays.copyOf(square, result.length);
+    }
+    return result;
+  }
+
+  private static int words(int bits) {
+    return (bits + 63) >>> 6;
+  }
+
+  private static void setBit(long[] polynomial, int i) {
+    polynomial[i >>> 6] |= 1L << i;
+  }
+
+  /**
+   * Returns the 64 bits of <tt>polynomial</tt> starting at bit <tt>offset</tt>.
+   */
+  private static long bits(long[] polynomial, int offset) {
+    final int word = offset >>> 6;
+    final int shift = offset & 63;
+    final long low = word < polynomial.length ? polynomial[word] >>> shift : 0L;
+    if (shift == 0 || word + 1 >= polynomial.length) {
+      return low;
+    }
+    return low | (polynomial[word + 1] << (64 - shift));
+  }
+
+  /**
+   * <tt>target ^= source * x<sup>shift</sup></tt>, ignoring the bits falling outside of
+   * <tt>target</tt>.
+   */
+  private static void shiftXor(long[] target, long[] source, int shift) {
+    final int words = shift >>> 6;
+    final int bits = shift & 63;
+    for (int i = 0; i < source.length && i + words < target.length; i++) {
+      final long word = source[i];
+      if (word == 0L) {
+        continue;
+      }
+      target[i + words] ^= word << bits;
+      if (bits != 0 && i + words + 1 < target.length) {
+        target[i + words + 1] ^= word >>> (64 - bits);
+      }
+    }
+  }
+
+  /**
+   * Interleaves the bits of <tt>value</tt> with zeros, which squares a polynomial over GF(2).
+   */
+  private static long spread(int value) {
+    long x = value & 0xffffffffL;
+    x = (x | (x << 16)) & 0x0000ffff0000ffffL;
+    x = (x | (x << 8)) & 0x00ff00ff00ff00ffL;
+    x = (x | (x << 4)) & 0x0f0f0f0f0f0f0f0fL;
+    x = (x | (x << 2)) & 0x3333333333333333L;
+    x = (x | (x << 1)) & 0x5555555555555555L;
+    return x;
+  }
+}
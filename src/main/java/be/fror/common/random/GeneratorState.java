@@ -0,0 +1,64 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import static be.fror.common.base.Preconditions.checkArgument;
+import static be.fror.common.base.Preconditions.checkNotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The binary encoding of the generator states: a byte identifying the generator, followed by its
+ * fields in big-endian order.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+final class GeneratorState {
+
+  static final byte MERSENNE_TWISTER = 1;
+  static final byte MERSENNE_TWISTER_64 = 2;
+  static final byte SIMD_FAST_MERSENNE_TWISTER = 3;
+  static final byte SPLIT_MIX_64 = 4;
+  static final byte XOSHIRO_256_STAR_STAR = 5;
+  static final byte XOROSHIRO_128_PLUS = 6;
+  static final byte PCG_32 = 7;
+  static final byte PHILOX_4X32 = 8;
+
+  private GeneratorState() {
+  }
+
+  /**
+   * Returns a buffer for a state of <tt>size</tt> bytes, the generator byte excluded, positioned
+   * after the generator byte.
+   */
+  static ByteBuffer allocate(byte generator, int size) {
+    return ByteBuffer.allocate(1 + size).put(generator);
+  }
+
+  /**
+   * Returns a buffer reading <tt>state</tt>, positioned after the generator byte.
+   *
+   * @throws IllegalArgumentException if <tt>state</tt> isn't a state of <tt>size</tt> bytes of
+   * <tt>generator</tt>.
+   */
+  static ByteBuffer read(byte generator, int size, byte[] state) {
+    checkNotNull(state);
+    checkArgument(state.length == 1 + size && state[0] == generator, "state isn't a state of this generator");
+    final ByteBuffer buffer = ByteBuffer.wrap(state);
+    buffer.get();
+    return buffer;
+  }
+}
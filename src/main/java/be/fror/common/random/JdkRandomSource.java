@@ -0,0 +1,62 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import java.util.Random;
+
+/**
+ * The {@link RandomSource} view of a {@link Random}, as returned by {@link RandomSource#of(Random)}.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+final class JdkRandomSource implements RandomSource {
+
+  private final Random random;
+
+  JdkRandomSource(Random random) {
+    this.random = random;
+  }
+
+  @Override
+  public int nextInt() {
+    return random.nextInt();
+  }
+
+  @Override
+  public long nextLong() {
+    return random.nextLong();
+  }
+
+  @Override
+  public int nextInt(int bound) {
+    return random.nextInt(bound);
+  }
+
+  @Override
+  public double nextDouble() {
+    return random.nextDouble();
+  }
+
+  @Override
+  public boolean nextBoolean() {
+    return random.nextBoolean();
+  }
+
+  @Override
+  public String toString() {
+    return "RandomSource.of(" + random + ")";
+  }
+}
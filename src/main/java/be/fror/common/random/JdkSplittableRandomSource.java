@@ -0,0 +1,68 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import java.util.SplittableRandom;
+
+/**
+ * The {@link SplittableRandomSource} view of a {@link SplittableRandom}, as returned by
+ * {@link SplittableRandomSource#of(SplittableRandom)}.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+final class JdkSplittableRandomSource implements SplittableRandomSource {
+
+  private final SplittableRandom random;
+
+  JdkSplittableRandomSource(SplittableRandom random) {
+    this.random = random;
+  }
+
+  @Override
+  public int nextInt() {
+    return random.nextInt();
+  }
+
+  @Override
+  public long nextLong() {
+    return random.nextLong();
+  }
+
+  @Override
+  public int nextInt(int bound) {
+    return random.nextInt(bound);
+  }
+
+  @Override
+  public double nextDouble() {
+    return random.nextDouble();
+  }
+
+  @Override
+  public boolean nextBoolean() {
+    return random.nextBoolean();
+  }
+
+  @Override
+  public SplittableRandomSource split() {
+    return new JdkSplittableRandomSource(random.split());
+  }
+
+  @Override
+  public String toString() {
+    return "SplittableRandomSource.of(" + random + ")";
+  }
+}
@@ -16,15 +16,27 @@
 package be.fror.common.random;
 
 import static be.fror.common.base.Preconditions.checkArgument;
+import static be.fror.common.base.Preconditions.checkNotNull;
+import static be.fror.common.base.Preconditions.checkPositionIndexes;
+import static be.fror.common.base.Preconditions.checkState;
 import static java.lang.Math.max;
+import static java.lang.Math.min;
 
+import be.fror.common.io.ByteSink;
+import be.fror.common.io.ByteSource;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  *
  * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
  */
-public final class MersenneTwister extends Random {
+public final class MersenneTwister extends Random implements RandomSource {
 
   private static final int N = 624;
   private static final int M = 397;
@@ -36,9 +48,30 @@ public final class MersenneTwister extends Random {
   private static final int MASK_A = 0x9d2c5680;
   private static final int MASK_B = 0xefc60000;
 
+  private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+  /**
+   * The degree of the characteristic polynomial of MT19937, ie. its period is
+   * <tt>2<sup>19937</sup> - 1</tt>.
+   */
+  private static final int DEGREE = 19937;
+
+  /**
+   * The number of outputs of a generator that seed each generator split from it.
+   */
+  private static final int SPLIT_SEED_LENGTH = 8;
+
+  private static final int STATE_SIZE = (N + 2) * Integer.BYTES + 2 + Double.BYTES;
+
   private int[] MT;
   private int index;
 
+  private int booleanBits;
+  private int booleanCount;
+
+  private double nextGaussian;
+  private boolean haveNextGaussian;
+
   public MersenneTwister() {
   }
 
@@ -50,9 +83,16 @@ public final class MersenneTwister extends Random {
     setSeed(seed);
   }
 
+  private MersenneTwister(MersenneTwister other) {
+    MT = other.MT.clone();
+    index = other.index;
+  }
+
   @Override
   public synchronized void setSeed(long seed) {
     MT = new int[N];
+    booleanCount = 0;
+    haveNextGaussian = false;
     MT[0] = (int) seed;
     for (int i = 1; i < N; i++) {
       MT[i] = (0x6c078965 * (MT[i - 1] ^ (MT[i - 1] >>> 30)) + i);
@@ -87,27 +127,485 @@ public final class MersenneTwister extends Random {
   @Override
   protected int next(int bits) {
     if (index == N) {
+      twist();
+    }
+    return temper(MT[index++]) >>> (32 - bits);
+  }
+
+  @Override
+  public int nextInt() {
+    if (index == N) {
+      twist();
+    }
+    return temper(MT[index++]);
+  }
+
+  /**
+   * Returns an integer uniformly in <tt>[0, bound)</tt>, using Lemire's nearly divisionless
+   * method: most calls need a single output and no division.
+   *
+   * @param bound
+   * @return an integer uniformly in <tt>[0, bound)</tt>
+   * @throws IllegalArgumentException if <tt>bound &lt;= 0</tt>
+   */
+  @Override
+  public int nextInt(int bound) {
+    checkArgument(bound > 0, "bound must be positive");
+    long m = (nextInt() & 0xffffffffL) * bound;
+    long low = m & 0xffffffffL;
+    if (low < bound) {
+      final long threshold = (-bound & 0xffffffffL) % bound;
+      while (low < threshold) {
+        m = (nextInt() & 0xffffffffL) * bound;
+        low = m & 0xffffffffL;
+      }
+    }
+    return (int) (m >>> 32);
+  }
+
+  /**
+   * Returns the same value as {@link Random#nextLong()}, from two consecutive outputs.
+   *
+   * @return
+   */
+  @Override
+  public long nextLong() {
+    if (N - index < 2) {
+      return ((long) nextInt() << 32) + nextInt();
+    }
+    final int[] mt = MT;
+    final int i = index;
+    index = i + 2;
+    return ((long) temper(mt[i]) << 32) + temper(mt[i + 1]);
+  }
+
+  /**
+   * Returns the same value as {@link Random#nextDouble()}, from two consecutive outputs.
+   *
+   * @return
+   */
+  @Override
+  public double nextDouble() {
+    if (N - index < 2) {
+      return (((long) (nextInt() >>> 6) << 27) + (nextInt() >>> 5)) * DOUBLE_UNIT;
+    }
+    final int[] mt = MT;
+    final int i = index;
+    index = i + 2;
+    return (((long) (temper(mt[i]) >>> 6) << 27) + (temper(mt[i + 1]) >>> 5)) * DOUBLE_UNIT;
+  }
+
+  /**
+   * Returns the next bit of an output; each output provides 32 booleans, highest bit first.
+   *
+   * @return
+   */
+  @Override
+  public boolean nextBoolean() {
+    if (booleanCount == 0) {
+      booleanBits = nextInt();
+      booleanCount = Integer.SIZE;
+    }
+    final boolean bit = booleanBits < 0;
+    booleanBits <<= 1;
+    booleanCount--;
+    return bit;
+  }
+
+  /**
+   * Returns the same values as {@link Random#nextGaussian()}, using the polar method, but
+   * without synchronizing.
+   *
+   * @return
+   */
+  @Override
+  public double nextGaussian() {
+    if (haveNextGaussian) {
+      haveNextGaussian = false;
+      return nextGaussian;
+    }
+    double v1, v2, s;
+    do {
+      v1 = 2 * nextDouble() - 1;
+      v2 = 2 * nextDouble() - 1;
+      s = v1 * v1 + v2 * v2;
+    } while (s >= 1 || s == 0);
+    final double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+    nextGaussian = v2 * multiplier;
+    haveNextGaussian = true;
+    return v1 * multiplier;
+  }
+
+  /**
+   * Returns the same bytes as {@link Random#nextBytes(byte[])}, tempering whole blocks at a time.
+   *
+   * @param bytes
+   */
+  @Override
+  public void nextBytes(byte[] bytes) {
+    nextBytes(ByteBuffer.wrap(bytes));
+  }
+
+  /**
+   * Fills <tt>array</tt> from <tt>offset</tt> with <tt>length</tt> values. The values are the same
+   * as the ones <tt>length</tt> successive calls to {@link #nextInt()} would return, but they're
+   * tempered a whole block at a time.
+   *
+   * @param array
+   * @param offset
+   * @param length
+   * @throws IndexOutOfBoundsException if <tt>offset</tt> and <tt>length</tt> don't describe a
+   * valid range of <tt>array</tt>.
+   */
+  @Override
+  public void nextInts(int[] array, int offset, int length) {
+    checkPositionIndexes(offset, offset + length, array.length);
+    final int end = offset + length;
+    while (offset < end) {
+      if (index == N) {
+        twist();
+      }
       final int[] mt = MT;
-      final int[] zom = ZERO_OR_MATRIX;
-      final int mid = N - M;
-      for (int n = 0; n < mid; n++) {
-        int y = (mt[n] & UPPER_MASK) | (mt[n + 1] & LOWER_MASK);
-        mt[n] = mt[n + M] ^ (y >>> 1) ^ zom[y & 0x1];
+      final int start = index;
+      final int n = min(N - start, end - offset);
+      for (int k = 0; k < n; k++) {
+        array[offset + k] = temper(mt[start + k]);
       }
-      for (int n = mid; n < N - 1; n++) {
-        int y = (mt[n] & UPPER_MASK) | (mt[n + 1] & LOWER_MASK);
-        mt[n] = mt[n - mid] ^ (y >>> 1) ^ zom[y & 0x1];
+      index = start + n;
+      offset += n;
+    }
+  }
+
+  /**
+   * Fills <tt>array</tt> from <tt>offset</tt> with <tt>length</tt> values. The values are the same
+   * as the ones <tt>length</tt> successive calls to {@link #nextLong()} would return.
+   *
+   * @param array
+   * @param offset
+   * @param length
+   * @throws IndexOutOfBoundsException if <tt>offset</tt> and <tt>length</tt> don't describe a
+   * valid range of <tt>array</tt>.
+   */
+  @Override
+  public void nextLongs(long[] array, int offset, int length) {
+    checkPositionIndexes(offset, offset + length, array.length);
+    final int end = offset + length;
+    while (offset < end) {
+      if (N - index < 2) {
+        // A long spans the block boundary.
+        array[offset++] = nextLong();
+        continue;
       }
-      int y = (mt[N - 1] & UPPER_MASK) | (mt[0] & LOWER_MASK);
-      mt[N - 1] = mt[M - 1] ^ (y >>> 1) ^ zom[y & 0x1];
-      index = 0;
+      final int[] mt = MT;
+      int i = index;
+      final int n = min((N - i) >>> 1, end - offset);
+      for (int k = 0; k < n; k++, i += 2) {
+        array[offset + k] = ((long) temper(mt[i]) << 32) + temper(mt[i + 1]);
+      }
+      index = i;
+      offset += n;
     }
-    int y = MT[index++];
+  }
+
+  /**
+   * Fills <tt>array</tt> from <tt>offset</tt> with <tt>length</tt> values. The values are the same
+   * as the ones <tt>length</tt> successive calls to {@link #nextDouble()} would return.
+   *
+   * @param array
+   * @param offset
+   * @param length
+   * @throws IndexOutOfBoundsException if <tt>offset</tt> and <tt>length</tt> don't describe a
+   * valid range of <tt>array</tt>.
+   */
+  @Override
+  public void nextDoubles(double[] array, int offset, int length) {
+    checkPositionIndexes(offset, offset + length, array.length);
+    final int end = offset + length;
+    while (offset < end) {
+      if (N - index < 2) {
+        // A double spans the block boundary.
+        array[offset++] = nextDouble();
+        continue;
+      }
+      final int[] mt = MT;
+      int i = index;
+      final int n = min((N - i) >>> 1, end - offset);
+      for (int k = 0; k < n; k++, i += 2) {
+        array[offset + k] = (((long) (temper(mt[i]) >>> 6) << 27) + (temper(mt[i + 1]) >>> 5)) * DOUBLE_UNIT;
+      }
+      index = i;
+      offset += n;
+    }
+  }
+
+  /**
+   * Fills the remaining bytes of <tt>buffer</tt>. The bytes are the same as the ones
+   * {@link #nextBytes(byte[])} would generate for an array of <tt>buffer.remaining()</tt> bytes,
+   * whatever the order of <tt>buffer</tt> is.
+   *
+   * @param buffer
+   */
+  public void nextBytes(ByteBuffer buffer) {
+    checkNotNull(buffer);
+    final boolean littleEndian = buffer.order() == ByteOrder.LITTLE_ENDIAN;
+    while (buffer.remaining() >= Integer.BYTES) {
+      if (index == N) {
+        twist();
+      }
+      final int[] mt = MT;
+      final int start = index;
+      final int n = min(N - start, buffer.remaining() / Integer.BYTES);
+      for (int k = 0; k < n; k++) {
+        final int y = temper(mt[start + k]);
+        buffer.putInt(littleEndian ? y : Integer.reverseBytes(y));
+      }
+      index = start + n;
+    }
+    if (buffer.hasRemaining()) {
+      for (int y = nextInt(); buffer.hasRemaining(); y >>= Byte.SIZE) {
+        buffer.put((byte) y);
+      }
+    }
+  }
+
+  /**
+   * Advances this generator by <tt>2<sup>log2Steps</sup></tt> outputs of {@link #nextInt()}, as
+   * if <tt>nextInt()</tt> was called that many times, using polynomial jump-ahead.
+   *
+   * <p>
+   * The polynomial of <tt>jump(128)</tt>, used by {@link MersenneTwisterPool}, is precomputed.
+   * The first jump by any other distance computes its jump polynomial, which takes about a second,
+   * plus a few milliseconds per unit of <tt>log2Steps</tt>; the polynomial is then cached. Each
+   * jump with a known polynomial costs about as much as generating 20,000 values.
+   *
+   * @param log2Steps
+   * @throws IllegalArgumentException if <tt>log2Steps &lt; 0</tt>
+   */
+  public synchronized void jump(int log2Steps) {
+    checkArgument(log2Steps >= 0, "log2Steps must not be negative");
+    // x^(2^DEGREE) = x modulo the primitive characteristic polynomial.
+    jump(JumpPolynomials.get(log2Steps % DEGREE));
+  }
+
+  /**
+   * Returns a new generator seeded, with {@link #setSeed(int[])}, from the next 256 bits of this
+   * one.
+   *
+   * <p>
+   * This is the cheap way to split: it costs about as much as seeding, and nested splits are fine.
+   * The new generator and this one are at unrelated positions of the period, so their streams
+   * overlap with negligible probability, but with no guarantee. When the streams must not overlap,
+   * use {@link #split(int)} instead. Either way, the generators are reproducible from a single
+   * seed, and neither is shared, so they need no synchronization.
+   *
+   * @return
+   */
+  public synchronized MersenneTwister split() {
+    final int[] seed = new int[SPLIT_SEED_LENGTH];
+    for (int i = 0; i < seed.length; i++) {
+      seed[i] = nextInt();
+    }
+    return new MersenneTwister(seed);
+  }
+
+  /**
+   * Returns a new generator that starts at the current position of this one, then advances this
+   * generator by <tt>2<sup>log2Steps</sup></tt> outputs with {@link #jump(int)}.
+   *
+   * <p>
+   * The generators returned by successive calls on the same generator are guaranteed not to
+   * overlap unless one of them produces more than <tt>2<sup>log2Steps</sup></tt> values, which
+   * makes them suitable for worker streams derived from a single seed. Splitting the returned
+   * generators the same way with a smaller <tt>log2Steps</tt> keeps that guarantee as long as they
+   * split fewer than <tt>2<sup>log2Steps - smaller</sup></tt> times.
+   *
+   * <p>
+   * This costs a jump: see {@link #jump(int)}.
+   *
+   * @param log2Steps
+   * @return
+   * @throws IllegalArgumentException if <tt>log2Steps &lt; 0</tt>
+   */
+  public synchronized MersenneTwister split(int log2Steps) {
+    checkArgument(log2Steps >= 0, "log2Steps must not be negative");
+    final MersenneTwister split = new MersenneTwister(this);
+    jump(log2Steps);
+    return split;
+  }
+
+  /**
+   * Returns the state of this generator, from which {@link #restoreState(byte[])} resumes the
+   * exact same sequence. The state takes about 2.5 kB.
+   *
+   * @return
+   */
+  public synchronized byte[] saveState() {
+    final ByteBuffer buffer = GeneratorState.allocate(GeneratorState.MERSENNE_TWISTER, STATE_SIZE);
+    buffer.putInt(index);
+    buffer.asIntBuffer().put(MT);
+    buffer.position(buffer.position() + N * Integer.BYTES);
+    return buffer
+        .putInt(booleanBits)
+        .put((byte) booleanCount)
+        .put((byte) (haveNextGaussian ? 1 : 0))
+        .putDouble(nextGaussian)
+        .array();
+  }
+
+  /**
+   * Sets the state of this generator to <tt>state</tt>, as returned by {@link #saveState()} on a
+   * generator of the same class.
+   *
+   * @param state
+   * @throws IllegalArgumentException if <tt>state</tt> isn't a state of this class of generator.
+   */
+  public synchronized void restoreState(byte[] state) {
+    final ByteBuffer buffer = GeneratorState.read(GeneratorState.MERSENNE_TWISTER, STATE_SIZE, state);
+    final int index = buffer.getInt();
+    checkArgument(index >= 0 && index <= N, "invalid index");
+    final int[] mt = new int[N];
+    buffer.asIntBuffer().get(mt);
+    buffer.position(buffer.position() + N * Integer.BYTES);
+    final int booleanBits = buffer.getInt();
+    final int booleanCount = buffer.get();
+    checkArgument(booleanCount >= 0 && booleanCount <= Integer.SIZE, "invalid boolean count");
+    final boolean haveNextGaussian = buffer.get() != 0;
+    final double nextGaussian = buffer.getDouble();
+    this.MT = mt;
+    this.index = index;
+    this.booleanBits = booleanBits;
+    this.booleanCount = booleanCount;
+    this.haveNextGaussian = haveNextGaussian;
+    this.nextGaussian = nextGaussian;
+  }
+
+  /**
+   * Writes the state of this generator to <tt>sink</tt>.
+   *
+   * @param sink
+   * @throws UncheckedIOException if an I/O error occurs.
+   */
+  public void saveState(ByteSink sink) throws UncheckedIOException {
+    sink.write(saveState());
+  }
+
+  /**
+   * Sets the state of this generator to the state read from <tt>source</tt>.
+   *
+   * @param source
+   * @throws UncheckedIOException if an I/O error occurs.
+   * @throws IllegalArgumentException if <tt>source</tt> doesn't contain a state of this class of
+   * generator.
+   */
+  public void restoreState(ByteSource source) throws UncheckedIOException {
+    restoreState(source.read());
+  }
+
+  private void jump(long[] polynomial) {
+    if (index == N) {
+      twist();
+    }
+    // Turn the state into a circular window of the next N words, starting at index.
+    final int[] mt = MT;
+    for (int i = 0; i < index; i++) {
+      step(mt, i);
+    }
+    final int[] state = new int[N];
+    System.arraycopy(mt, index, state, 0, N - index);
+    System.arraycopy(mt, 0, state, N - index, index);
+
+    // Horner's scheme: jumped = sum(c[i] * T^i * state)
+    final int[] jumped = new int[N];
+    int start = 0;
+    for (int i = BinaryPolynomials.degree(polynomial); i >= 0; i--) {
+      step(jumped, start);
+      start = start == N - 1 ? 0 : start + 1;
+      if (BinaryPolynomials.testBit(polynomial, i)) {
+        final int mid = N - start;
+        for (int k = 0; k < mid; k++) {
+          jumped[start + k] ^= state[k];
+        }
+        for (int k = mid; k < N; k++) {
+          jumped[k - mid] ^= state[k];
+        }
+      }
+    }
+    System.arraycopy(jumped, start, mt, 0, N - start);
+    System.arraycopy(jumped, 0, mt, N - start, start);
+    index = 0;
+  }
+
+  /**
+   * Replaces the word at <tt>position</tt> in a circular window of the state by the word
+   * following the window.
+   */
+  private static void step(int[] window, int position) {
+    final int next = position == N - 1 ? 0 : position + 1;
+    final int m = position < N - M ? position + M : position + M - N;
+    final int y = (window[position] & UPPER_MASK) | (window[next] & LOWER_MASK);
+    window[position] = window[m] ^ (y >>> 1) ^ ZERO_OR_MATRIX[y & 0x1];
+  }
+
+  private void twist() {
+    final int[] mt = MT;
+    final int[] zom = ZERO_OR_MATRIX;
+    final int mid = N - M;
+    for (int n = 0; n < mid; n++) {
+      int y = (mt[n] & UPPER_MASK) | (mt[n + 1] & LOWER_MASK);
+      mt[n] = mt[n + M] ^ (y >>> 1) ^ zom[y & 0x1];
+    }
+    for (int n = mid; n < N - 1; n++) {
+      int y = (mt[n] & UPPER_MASK) | (mt[n + 1] & LOWER_MASK);
+      mt[n] = mt[n - mid] ^ (y >>> 1) ^ zom[y & 0x1];
+    }
+    int y = (mt[N - 1] & UPPER_MASK) | (mt[0] & LOWER_MASK);
+    mt[N - 1] = mt[M - 1] ^ (y >>> 1) ^ zom[y & 0x1];
+    index = 0;
+  }
+
+  private static int temper(int y) {
     y ^= y >>> 11;
     y ^= (y << 7) & MASK_A;
     y ^= (y << 15) & MASK_B;
     y ^= y >>> 18;
-    return y >>> (32 - bits);
+    return y;
+  }
+
+  private static final class JumpPolynomials {
+
+    private static final ConcurrentMap<Integer, long[]> CACHE = new ConcurrentHashMap<>();
+
+    static long[] get(int log2Steps) {
+      if (log2Steps == 128) {
+        // Precomputed: it's the distance between the generators of MersenneTwisterPool.
+        return MersenneTwisterJumps.JUMP_128;
+      }
+      return CACHE.computeIfAbsent(log2Steps,
+          k -> BinaryPolynomials.xPowerOfTwoModulo(k, Characteristic.POLYNOMIAL));
+    }
+  }
+
+  /**
+   * Holds the characteristic polynomial, which is only computed on the first jump that isn't
+   * precomputed.
+   */
+  static final class Characteristic {
+
+    static final long[] POLYNOMIAL = characteristicPolynomial();
+
+    private static long[] characteristicPolynomial() {
+      // Any output bit of MT19937 follows a recurrence whose minimal polynomial is the
+      // characteristic polynomial, since the latter is irreducible.
+      final MersenneTwister mt = new MersenneTwister(5489L);
+      final int length = 2 * DEGREE;
+      final long[] sequence = new long[(length + 63) >>> 6];
+      for (int i = 0; i < length; i++) {
+        sequence[i >>> 6] |= (mt.next(32) & 1L) << i;
+      }
+      final long[] polynomial = BinaryPolynomials.minimalPolynomial(sequence, length);
+      checkState(BinaryPolynomials.degree(polynomial) == DEGREE);
+      return polynomial;
+    }
   }
 
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+/**
+ * Precomputed jump polynomials of {@link MersenneTwister}, so that the common jumps don't pay for
+ * the computation of the characteristic polynomial.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+final class MersenneTwisterJumps {
+
+  private MersenneTwisterJumps() {
+  }
+
+  /**
+   * <tt>x<sup>2<sup>128</sup></sup></tt> modulo the characteristic polynomial of MT19937, least
+   * significant word first: the polynomial of {@link MersenneTwister#jump(int) jump(128)}. Not to
+   * be modified.
+   */
+  static final long[] JUMP_128 = {
+    0xb5709ec472de3963L, 0xa823f8e588279bb6L, 0x041f225926d83e59L, 0x8b521777e7fdbb15L,
+    0xbf2812d548b5e756L, 0x0b4849aae4b0adb9L, 0xe96d39ce3e928b83L, 0x09eaf2e8af6131d3L,
+    0xc1814c7b33548456L, 0xfebd07bc893a7c83L, 0x5147dcbf01bd8267L, 0x9afef574e2a67de6L,
+    0xf0d3decab8334d09L, 0xd884703b5561fd58L, 0xb39b8f42ef5c803bL, 0xd61cfed320dfb761L,
+    0x47416177cf5f3e5bL, 0x8ea9cfab8e8442e9L, 0x60ddf78d585d0ec0L, 0xf0f7d60e2c9b8528L,
+    0xca3ee37db2bb3bfcL, 0x870ed96981c9e659L, 0xce5248519573a0deL, 0x73cda5ed77683b94L,
+    0xf43b956c56bcfcbcL, 0xbf04b4001f91de14L, 0x1d8598319438c481L, 0x9d97aed5ca6ae0a2L,
+    0xe75c95199e464218L, 0xcd43455c253c5486L, 0x7f8282d473b5ccd8L, 0x192ddf99c8cacd44L,
+    0x5288b589d6be8546L, 0x9819557fb4f26ca7L, 0x03e73d28200570ebL, 0x78a114c9264acc04L,
+    0x42eee89795f0fb7bL, 0x67e751e8abcc80c2L, 0x140e87ef1330cc85L, 0xd3f8525e913b9a96L,
+    0x1ba1158f3ee3d205L, 0x1f6aa87d2c4cdb89L, 0x878b32239b5e9a3aL, 0xa48c7778a498c3edL,
+    0x1d08f055974ac066L, 0xd6de80e9c8a08242L, 0x2892ce4ca1cf0b40L, 0x604168ae842731c7L,
+    0xbecff8b2dd23ee6dL, 0xa4369751dfac7287L, 0x4a5840d9ba8bc89dL, 0xf53bdbeda7a58582L,
+    0xa4149d1ccfba4997L, 0xf2c72905d5c66fc3L, 0xae4d8e96ce68ad39L, 0xc588f396f213a9b5L,
+    0x2c618d4e9d6116bbL, 0xebfb61f3b34420d1L, 0xcbdca6f23b702ed7L, 0xbe2833957cb78166L,
+    0x20c0d09603a2436aL, 0xbf49b815e190aa6fL, 0x9b45b90349d78dc3L, 0x67eb90e30aa4c4c8L,
+    0x7f5ceab1f32b13f0L, 0x641eaedbccc48294L, 0x80b553586d6aafb6L, 0xf1fa779a72b55832L,
+    0x8992aefd3b60af74L, 0x283594724fa609f2L, 0x527dc1a961e7aaf1L, 0xbcad693f834e8087L,
+    0x95171796c9ca3bf6L, 0xb7d367759f41164aL, 0x5c77677bcf20cf3bL, 0x47dfd69ff4765b01L,
+    0xd708247fd90d6e15L, 0xad7996285fe95113L, 0xfcfb0ce2c627f9f2L, 0x4b0033800f2441ceL,
+    0x50fa780b72161100L, 0xb71ca8b71f72b11aL, 0x5475baceffab42fdL, 0x356eef7891c28b39L,
+    0xdc80086d1441c9c3L, 0xb5c30ec996c47491L, 0xa9321adda254e42dL, 0xc30bee5b963a3612L,
+    0xdf141323635c75c7L, 0x8926e38f38308f58L, 0x897754d871b69592L, 0x5bc061743cddde5eL,
+    0xbebb80a7ad520904L, 0xd91d5d335cc284d4L, 0x11090e418c6ba748L, 0x462cffbc33bb9929L,
+    0xefc68605c42a508eL, 0x230e6cd9602a3a14L, 0x49b8eb3126c6f9f4L, 0x7c49e7a451bd358fL,
+    0x1910bb3947b592cbL, 0xad0ca5183ced6a5bL, 0xd98ca57993461dcbL, 0xecc5cb659526948eL,
+    0x0bddc87dfd1a431bL, 0x7d9820ac5d694024L, 0x716c1ae1ffeb5538L, 0x04f8ed8613cffb2fL,
+    0x1b32eb97d777f039L, 0x893da4ee87c1a95fL, 0x965118d4c235f16cL, 0xf99023e2e87994baL,
+    0x891268a5bb8c4545L, 0x4d163861e7cf46b4L, 0xca688c0e0b2c5681L, 0xb86346b536702e5fL,
+    0x72a6013755e311bbL, 0x47d10e13142fdc5cL, 0xac088c30a34ce0cbL, 0x4d79a2e88f9503feL,
+    0x02b4c095937670c7L, 0x080533c020f8f5e0L, 0xab1d0c2581fe8f32L, 0xb601bb28048f776dL,
+    0xf8b8e16e96004a47L, 0x4a9fa0426862af7bL, 0x54384ad4b0b6f662L, 0x81670a57a350c0eeL,
+    0x3a2c282026061dc1L, 0xb9749667b575f899L, 0xaa853838738dfc2aL, 0xa53a92a400ccc442L,
+    0xbdc8cfa2cfaf5a3eL, 0x529fee9d09884265L, 0x966c709ea4d7f84fL, 0xd14265d44c80bc42L,
+    0xb23c2aedf5ebe7f3L, 0xb7d47c42804523f1L, 0x73370568a7cb0aa9L, 0x66158a1e06d90ac5L,
+    0xc4a3898c9805c7adL, 0x7fc536907890addeL, 0xc5427e0885c39b20L, 0x2fba05edc0c864f8L,
+    0x210ad2bfc365017aL, 0x609ca0038ffb95eaL, 0x84e663c48e6c4f72L, 0x753c1ca83c110562L,
+    0x48642afc8700b723L, 0xcef1123e14ac952cL, 0xf075b8b8ed84973cL, 0xf00a255a0ceac5c9L,
+    0x7e77e0dadfcd487cL, 0x0071cb978be5750cL, 0x28c4386f560827feL, 0xbf6b3ad6af4049f0L,
+    0x2e3006d1a911aaddL, 0x2e8489f95eb5bb74L, 0x84278164c36fb83dL, 0x61e0e6be82302b47L,
+    0x11b59c560422260eL, 0x9cd5ecaae4f20c9cL, 0x9bc72523f866e2daL, 0x816f533c52c41667L,
+    0xa0dbff9e47a3235eL, 0xea9ca5a30c62a756L, 0xc51267e9de0761a6L, 0xf28b88663eed2af6L,
+    0xfd769663695ed01fL, 0xbc47fcdf9065af4eL, 0x424e389cdfca6259L, 0xbb03335e166c2c1bL,
+    0xc4be33dd2a73a1a1L, 0x45746bc2e690d058L, 0x07d38d7f94b43407L, 0x74b851e460854fb3L,
+    0xd99df507db3d2ac2L, 0x5d6c254c86d3323bL, 0xb4dd303282bfac22L, 0xb7261a5fb27e023bL,
+    0x40f361bf34fe8179L, 0xe716500e6c9e7858L, 0x35c6ee0b65873b06L, 0xe4c5d4fcfb2864e7L,
+    0x858ee284281901c6L, 0x44803a65e5fca3cdL, 0xf9f41e41f850f7f6L, 0x87cbf3c965eb5539L,
+    0xae056412be2f8074L, 0xd8fe916f3c5cb955L, 0xd18ccb5eaec289dfL, 0x446157f20eef81bfL,
+    0xde9821754690364aL, 0xd094591bc1597ea0L, 0x79676e7ab1ed3e17L, 0xa283bdf6c495ebc1L,
+    0x6a06b25c648c3570L, 0x0deb138c398b0580L, 0x4e3d096ae51108edL, 0xafde012b1dda7416L,
+    0xcb001892722f0317L, 0x82d756d223875cf7L, 0x2091ce44c99114deL, 0x8a944ef9d24757b4L,
+    0xedf8f12b8594145aL, 0xf30c0ce9998c4affL, 0xba657a589ce601a0L, 0x94e6ec8d36a851ddL,
+    0x86ada470ed46b938L, 0x46c714b9409b507dL, 0xb628043e05c862a8L, 0x8d763a8c7ac4a188L,
+    0x7f5ba7970adc18b6L, 0x5db4bc6b69073599L, 0x3d087e22444d59d3L, 0x61466f51e9c04e89L,
+    0x151fd405548aa4e6L, 0x6090566191555389L, 0x3e3c85615e8d5619L, 0x2491156c39c6b81cL,
+    0x17b4d42cfc2fd4a6L, 0x2bd704cf82c9bcf9L, 0x054032407b2568ecL, 0x7e037b6b5d2268d9L,
+    0x231f10e7d86bec7aL, 0x964f8501ba016830L, 0x9873c321a3b7321fL, 0xa5a250e1350ac2ddL,
+    0xc738d24726578385L, 0xcd33873c012541caL, 0xd0cdc82cc5907f19L, 0x5656cca45c2b540aL,
+    0xa3d987b81f887dd1L, 0x06a2847883e7fe48L, 0x465f2df8945682dbL, 0xfac8ffbc9b494ce1L,
+    0xb12ac825598f39cdL, 0x3e5c217efa99231bL, 0xe550fdba3b2d8ba2L, 0x846a67338e510006L,
+    0xee48a9263e573194L, 0x41c394c85ccd36bdL, 0xa19b67f210a79620L, 0x8a285c068b3fd2a6L,
+    0x3637050a3a1797d9L, 0x7295647e63dfca07L, 0xbe8e76017a7b3bbaL, 0x3c1e511aea660549L,
+    0x06c40c25c7a1931aL, 0x7d1886643796cf70L, 0xb9f70031ccd9fa38L, 0x87fe9735601e2c75L,
+    0xef645dd6f8cd68b0L, 0x535d71387d05b323L, 0x90327a265c02f47fL, 0xabd5ea2563ecd3b2L,
+    0x302c164101624325L, 0x1cdfa6bcdbfbeb93L, 0xb15987ed866519a2L, 0x0c31ec84113296f1L,
+    0xb4132090232a35b2L, 0x535172e392d0c3c5L, 0xfc24a0a9095ffccbL, 0x2546326e932c038eL,
+    0x1bbafc54ccc15e47L, 0xa84866303cf2a838L, 0x8405b4ae1057e025L, 0x1eec4c73da36738dL,
+    0x4f9ff10488b30f90L, 0x6eab7da885eea780L, 0x6fe9593d40d9fdbeL, 0x65606c0c3c850d3cL,
+    0x70308a34b078a231L, 0x6d9a7cbe635af9bdL, 0x63660519ed73ee32L, 0x0e62955f1701dd8dL,
+    0x9cb66a13180db0e9L, 0x78fb88aad3c2cd3eL, 0xa2859c5285fdbe48L, 0x902ffd419579f8f8L,
+    0x1f5e048a4b7c6a7bL, 0x706d24958e262d89L, 0x816d7f42ebbbd878L, 0x3e6cc58a88cdfbf1L,
+    0xaa7dfafd754a64abL, 0xb63cd2f7e98d0a02L, 0x72c5b57f38c8c85cL, 0xe479da34b97f2b0aL,
+    0x7c86232a553e33f7L, 0xedc6266db35cc8f8L, 0x14b7f688ca67e7feL, 0xb3d3d66f072d997bL,
+    0x121005b9528c6a42L, 0x87d31f390df2b622L, 0xedaedb3712ce5fd4L, 0x8e53ff2549dec2f4L,
+    0x764041aae79e435aL, 0xb359bd5e29a3ee70L, 0x303acd045aa2b047L, 0x165795c2b82a2d07L,
+    0x950faac1a64ab733L, 0xff195e03dfa2861fL, 0x5eb360ec8cd6e865L, 0x19e1a74d639cb063L,
+    0x775c20d67ec12528L, 0x08722d7fa44c4ddfL, 0x83d145bcb0c92d32L, 0x73da60e43b2207e8L,
+    0x962813b9a13d0929L, 0xeb6572d6738f420bL, 0x80a4a0ef151a52caL, 0x0000000023eee457L
+  };
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import static be.fror.common.base.Preconditions.checkNotNull;
+
+import java.util.Random;
+
+/**
+ * One {@link MersenneTwister} per thread, all derived from a single master seed.
+ *
+ * <p>
+ * Each thread gets, on its first use of the pool, the next generator
+ * {@link MersenneTwister#split(int) split} from the master generator: the first thread gets the
+ * sequence of the master seed itself, the next one the sequence <tt>2<sup>128</sup></tt> outputs
+ * further, and so on. The sequences therefore don't overlap, and they are reproducible as long as
+ * the threads first use the pool in the same order.
+ *
+ * <p>
+ * {@link #asRandom()} is a single {@link Random} shared by all the threads, which draws from the
+ * generator of the calling thread without any locking. It's also a {@link RandomSource}, so
+ * {@link RandomSource#of(Random)} returns it as is.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+public final class MersenneTwisterPool {
+
+  /**
+   * Each thread owns <tt>2<sup>128</sup></tt> outputs of the master sequence.
+   */
+  private static final int LOG2_STEPS_PER_THREAD = 128;
+
+  private final ThreadLocal<MersenneTwister> generators;
+  private final Random random;
+
+  public MersenneTwisterPool(long seed) {
+    this(new MersenneTwister(seed));
+  }
+
+  public MersenneTwisterPool(int[] seed) {
+    this(new MersenneTwister(seed));
+  }
+
+  private MersenneTwisterPool(MersenneTwister master) {
+    this.generators = ThreadLocal.withInitial(() -> master.split(LOG2_STEPS_PER_THREAD));
+    this.random = new PooledRandom(this);
+  }
+
+  /**
+   * Returns the generator of the calling thread. It must not be shared with other threads.
+   *
+   * @return
+   */
+  public MersenneTwister current() {
+    return generators.get();
+  }
+
+  /**
+   * Returns a view of this pool as a {@link Random}, which may be shared by any number of threads.
+   * The view can't be reseeded.
+   *
+   * @return
+   */
+  public Random asRandom() {
+    return random;
+  }
+
+  private static final class PooledRandom extends Random implements RandomSource {
+
+    private final MersenneTwisterPool pool;
+
+    PooledRandom(MersenneTwisterPool pool) {
+      this.pool = pool;
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+      // Random's constructor sets the seed before the pool is assigned.
+      if (pool != null) {
+        throw new UnsupportedOperationException();
+      }
+    }
+
+    @Override
+    protected int next(int bits) {
+      return pool.current().next(bits);
+    }
+
+    @Override
+    public int nextInt() {
+      return pool.current().nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+      return pool.current().nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+      return pool.current().nextLong();
+    }
+
+    @Override
+    public double nextDouble() {
+      return pool.current().nextDouble();
+    }
+
+    @Override
+    public boolean nextBoolean() {
+      return pool.current().nextBoolean();
+    }
+
+    @Override
+    public double nextGaussian() {
+      return pool.current().nextGaussian();
+    }
+
+    @Override
+    public void nextBytes(byte[] bytes) {
+      pool.current().nextBytes(checkNotNull(bytes));
+    }
+
+    @Override
+    public void nextInts(int[] array, int offset, int length) {
+      pool.current().nextInts(array, offset, length);
+    }
+
+    @Override
+    public void nextLongs(long[] array, int offset, int length) {
+      pool.current().nextLongs(array, offset, length);
+    }
+
+    @Override
+    public void nextDoubles(double[] array, int offset, int length) {
+      pool.current().nextDoubles(array, offset, length);
+    }
+
+    @Override
+    public String toString() {
+      return pool + ".asRandom()";
+    }
+  }
+}
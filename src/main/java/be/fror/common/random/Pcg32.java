@@ -0,0 +1,128 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import static be.fror.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteBuffer;
+
+/**
+ * O'Neill's PCG32 (PCG-XSH-RR 64/32): a 64-bit linear congruential generator whose outputs are
+ * permuted into 32-bit values. Each odd increment selects one of <tt>2<sup>63</sup></tt>
+ * distinct streams of period <tt>2<sup>64</sup></tt>.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+public final class Pcg32 extends AbstractGenerator {
+
+  private static final long MULTIPLIER = 6364136223846793005L;
+
+  /**
+   * The stream of the reference implementation's default increment, 1442695040888963407.
+   */
+  private static final long DEFAULT_STREAM = 721347520444481703L;
+
+  private long state;
+  private long increment;
+
+  public Pcg32() {
+    this(randomSeed(), randomSeed());
+  }
+
+  public Pcg32(long seed) {
+    this(seed, DEFAULT_STREAM);
+  }
+
+  /**
+   * Creates a generator as the reference <tt>pcg32_srandom_r(seed, stream)</tt> does.
+   *
+   * @param seed
+   * @param stream the stream selector; its highest bit is ignored.
+   */
+  public Pcg32(long seed, long stream) {
+    this.increment = (stream << 1) | 1L;
+    this.state = 0L;
+    nextInt();
+    this.state += seed;
+    nextInt();
+  }
+
+  @Override
+  public int nextInt() {
+    final long old = state;
+    state = old * MULTIPLIER + increment;
+    return Integer.rotateRight((int) (((old >>> 18) ^ old) >>> 27), (int) (old >>> 59));
+  }
+
+  /**
+   * @return a uniformly distributed long value, built from two outputs.
+   */
+  @Override
+  public long nextLong() {
+    return ((long) nextInt() << 32) | (nextInt() & 0xffffffffL);
+  }
+
+  /**
+   * Advances this generator by <tt>steps</tt> outputs of {@link #nextInt()}, or moves it back if
+   * <tt>steps</tt> is negative. This takes time logarithmic in <tt>steps</tt>.
+   *
+   * @param steps
+   */
+  public void advance(long steps) {
+    long accMultiplier = 1L;
+    long accIncrement = 0L;
+    long multiplier = MULTIPLIER;
+    long inc = increment;
+    for (long delta = steps; delta != 0L; delta >>>= 1) {
+      if ((delta & 1L) != 0L) {
+        accMultiplier *= multiplier;
+        accIncrement = accIncrement * multiplier + inc;
+      }
+      inc = (multiplier + 1) * inc;
+      multiplier *= multiplier;
+    }
+    state = accMultiplier * state + accIncrement;
+  }
+
+  @Override
+  public byte[] saveState() {
+    return GeneratorState.allocate(GeneratorState.PCG_32, 2 * Long.BYTES)
+        .putLong(state)
+        .putLong(increment)
+        .array();
+  }
+
+  @Override
+  public void restoreState(byte[] state) {
+    final ByteBuffer buffer = GeneratorState.read(GeneratorState.PCG_32, 2 * Long.BYTES, state);
+    final long s = buffer.getLong();
+    final long increment = buffer.getLong();
+    // An even increment would break the full period that the constructor guarantees.
+    checkArgument((increment & 1L) != 0L, "the increment must be odd");
+    this.state = s;
+    this.increment = increment;
+  }
+
+  /**
+   * Returns a new generator on another stream, seeded from the outputs of this one.
+   *
+   * @return
+   */
+  @Override
+  public Pcg32 split() {
+    return new Pcg32(nextLong(), nextLong());
+  }
+}
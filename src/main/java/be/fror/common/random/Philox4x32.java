@@ -0,0 +1,196 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Salmon et al.'s Philox4x32-10, a counter-based generator: the output at a given position is a
+ * keyed bijection of that position, so any value can be computed directly.
+ *
+ * <p>
+ * The 128-bit counter is made of a 64-bit block index and a 64-bit stream; the key is the 64-bit
+ * seed. Each block yields four 32-bit words, which {@link #nextInt()} returns in order and
+ * {@link #nextLong()} returns two by two, the first one in the high bits.
+ *
+ * <p>
+ * {@link #intAt(long)}, {@link #valueAt(long)} and {@link #doubleAt(long)} don't depend on nor
+ * change the position of the generator, so they may be called from any thread.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+public final class Philox4x32 extends AbstractGenerator {
+
+  private static final int M0 = 0xd2511f53;
+  private static final int M1 = 0xcd9e8d57;
+  private static final int W0 = 0x9e3779b9;
+  private static final int W1 = 0xbb67ae85;
+
+  private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+  private int key0;
+  private int key1;
+  private int stream0;
+  private int stream1;
+
+  private long position;
+  private long cachedBlock = -1L;
+  private final int[] words = new int[4];
+
+  public Philox4x32() {
+    this(randomSeed());
+  }
+
+  public Philox4x32(long seed) {
+    this(seed, 0L);
+  }
+
+  public Philox4x32(long seed, long stream) {
+    this.key0 = (int) seed;
+    this.key1 = (int) (seed >>> 32);
+    this.stream0 = (int) stream;
+    this.stream1 = (int) (stream >>> 32);
+  }
+
+  /**
+   * Returns the 32-bit word at <tt>index</tt>, ie. the value the <tt>(index + 1)</tt>-th call to
+   * {@link #nextInt()} returns on a new generator with the same seed and stream.
+   *
+   * @param index
+   * @return
+   */
+  public int intAt(long index) {
+    final int[] block = new int[4];
+    block(index >>> 2, block);
+    return block[(int) index & 3];
+  }
+
+  /**
+   * Returns the <tt>(index + 1)</tt>-th value that {@link #nextLong()} returns on a new generator
+   * with the same seed and stream.
+   *
+   * @param index
+   * @return
+   */
+  public long valueAt(long index) {
+    final int[] block = new int[4];
+    block(index >>> 1, block);
+    final int word = ((int) index & 1) << 1;
+    return ((long) block[word] << 32) | (block[word + 1] & 0xffffffffL);
+  }
+
+  /**
+   * Returns the <tt>(index + 1)</tt>-th value that {@link #nextDouble()} returns on a new
+   * generator with the same seed and stream.
+   *
+   * @param index
+   * @return
+   */
+  public double doubleAt(long index) {
+    return (valueAt(index) >>> 11) * DOUBLE_UNIT;
+  }
+
+  @Override
+  public int nextInt() {
+    final long p = position++;
+    final long block = p >>> 2;
+    if (block != cachedBlock) {
+      block(block, words);
+      cachedBlock = block;
+    }
+    return words[(int) p & 3];
+  }
+
+  @Override
+  public long nextLong() {
+    return ((long) nextInt() << 32) | (nextInt() & 0xffffffffL);
+  }
+
+  /**
+   * Moves this generator by <tt>steps</tt> outputs of {@link #nextInt()}; <tt>steps</tt> may be
+   * negative. This takes constant time.
+   *
+   * @param steps
+   */
+  public void advance(long steps) {
+    position += steps;
+  }
+
+  @Override
+  public byte[] saveState() {
+    return GeneratorState.allocate(GeneratorState.PHILOX_4X32, 3 * Long.BYTES)
+        .putLong(seed())
+        .putLong(((long) stream1 << 32) | (stream0 & 0xffffffffL))
+        .putLong(position)
+        .array();
+  }
+
+  @Override
+  public void restoreState(byte[] state) {
+    final ByteBuffer buffer = GeneratorState.read(GeneratorState.PHILOX_4X32, 3 * Long.BYTES, state);
+    final long seed = buffer.getLong();
+    final long stream = buffer.getLong();
+    key0 = (int) seed;
+    key1 = (int) (seed >>> 32);
+    stream0 = (int) stream;
+    stream1 = (int) (stream >>> 32);
+    position = buffer.getLong();
+    cachedBlock = -1L;
+  }
+
+  /**
+   * Returns a new generator with the same seed, on a stream chosen by the next output of this
+   * one.
+   *
+   * @return
+   */
+  @Override
+  public Philox4x32 split() {
+    return new Philox4x32(seed(), nextLong());
+  }
+
+  private long seed() {
+    return ((long) key1 << 32) | (key0 & 0xffffffffL);
+  }
+
+  /**
+   * Computes the four words of <tt>block</tt> of the stream of this generator.
+   */
+  void block(long block, int[] out) {
+    int c0 = (int) block;
+    int c1 = (int) (block >>> 32);
+    int c2 = stream0;
+    int c3 = stream1;
+    int k0 = key0;
+    int k1 = key1;
+    for (int round = 0; round < 10; round++) {
+      if (round != 0) {
+        k0 += W0;
+        k1 += W1;
+      }
+      final long p0 = (M0 & 0xffffffffL) * (c0 & 0xffffffffL);
+      final long p1 = (M1 & 0xffffffffL) * (c2 & 0xffffffffL);
+      c0 = (int) (p1 >>> 32) ^ c1 ^ k0;
+      c1 = (int) p1;
+      c2 = (int) (p0 >>> 32) ^ c3 ^ k1;
+      c3 = (int) p0;
+    }
+    out[0] = c0;
+    out[1] = c1;
+    out[2] = c2;
+    out[3] = c3;
+  }
+}
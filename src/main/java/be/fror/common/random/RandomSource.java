@@ -0,0 +1,219 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import static be.fror.common.base.Preconditions.checkArgument;
+import static be.fror.common.base.Preconditions.checkNotNull;
+import static be.fror.common.base.Preconditions.checkPositionIndexes;
+
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A source of uniformly distributed random bits.
+ *
+ * <p>
+ * Only {@link #nextInt()} and {@link #nextLong()} must be implemented; the other methods derive
+ * their values from those two. Unlike {@link Random}, implementations carry no other state than
+ * their own, and are not expected to be thread-safe.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+public interface RandomSource {
+
+  /**
+   * Returns a source drawing its values from <tt>random</tt>, or <tt>random</tt> itself if it's
+   * already a <tt>RandomSource</tt>.
+   *
+   * <p>
+   * The values of the returned source are those of the matching methods of <tt>random</tt>, so that
+   * code moved from <tt>Random</tt> to <tt>RandomSource</tt> keeps producing the same values.
+   *
+   * @param random
+   * @return
+   * @throws NullPointerException if <tt>random</tt> is <tt>null</tt>.
+   */
+  static RandomSource of(Random random) {
+    checkNotNull(random);
+    if (random instanceof RandomSource) {
+      return (RandomSource) random;
+    }
+    return new JdkRandomSource(random);
+  }
+
+  /**
+   * Returns a stream of <tt>size</tt> values of the sampler that <tt>factory</tt> creates for
+   * <tt>source</tt>.
+   *
+   * <p>
+   * If <tt>source</tt> is a {@link SplittableRandomSource}, the stream is generated by a source
+   * split from it, and is split again whenever the stream is, with a sampler of its own created by
+   * <tt>factory</tt>, so parallel streams need no synchronization. Otherwise the stream draws from
+   * <tt>source</tt>, and doesn't split.
+   *
+   * @param source
+   * @param size
+   * @param factory
+   * @return
+   * @throws IllegalArgumentException if <tt>size &lt; 0</tt>
+   */
+  static IntStream intStream(RandomSource source, long size, Function<? super RandomSource, ? extends IntSupplier> factory) {
+    checkNotNull(source);
+    checkNotNull(factory);
+    checkArgument(size >= 0L, "size must not be negative");
+    return StreamSupport.intStream(new SourceSpliterator.Ints(SourceSpliterator.root(source), factory, 0L, size), false);
+  }
+
+  /**
+   * Returns a stream of <tt>size</tt> values of the sampler that <tt>factory</tt> creates for
+   * <tt>source</tt>.
+   *
+   * @param source
+   * @param size
+   * @param factory
+   * @return
+   * @throws IllegalArgumentException if <tt>size &lt; 0</tt>
+   * @see #intStream(RandomSource, long, Function)
+   */
+  static LongStream longStream(RandomSource source, long size, Function<? super RandomSource, ? extends LongSupplier> factory) {
+    checkNotNull(source);
+    checkNotNull(factory);
+    checkArgument(size >= 0L, "size must not be negative");
+    return StreamSupport.longStream(new SourceSpliterator.Longs(SourceSpliterator.root(source), factory, 0L, size), false);
+  }
+
+  /**
+   * Returns a stream of <tt>size</tt> values of the sampler that <tt>factory</tt> creates for
+   * <tt>source</tt>.
+   *
+   * @param source
+   * @param size
+   * @param factory
+   * @return
+   * @throws IllegalArgumentException if <tt>size &lt; 0</tt>
+   * @see #intStream(RandomSource, long, Function)
+   */
+  static DoubleStream doubleStream(RandomSource source, long size, Function<? super RandomSource, ? extends DoubleSupplier> factory) {
+    checkNotNull(source);
+    checkNotNull(factory);
+    checkArgument(size >= 0L, "size must not be negative");
+    return StreamSupport.doubleStream(new SourceSpliterator.Doubles(SourceSpliterator.root(source), factory, 0L, size), false);
+  }
+
+  /**
+   * @return a uniformly distributed int value.
+   */
+  int nextInt();
+
+  /**
+   * @return a uniformly distributed long value.
+   */
+  long nextLong();
+
+  /**
+   * Returns an integer uniformly in <tt>[0, bound)</tt>, using Lemire's nearly divisionless
+   * method: most calls need a single <tt>nextInt()</tt> and no division.
+   *
+   * @param bound
+   * @return an integer uniformly in <tt>[0, bound)</tt>
+   * @throws IllegalArgumentException if <tt>bound &lt;= 0</tt>
+   */
+  default int nextInt(int bound) {
+    checkArgument(bound > 0, "bound must be positive");
+    long m = (nextInt() & 0xffffffffL) * bound;
+    long low = m & 0xffffffffL;
+    if (low < bound) {
+      final long threshold = (-bound & 0xffffffffL) % bound;
+      while (low < threshold) {
+        m = (nextInt() & 0xffffffffL) * bound;
+        low = m & 0xffffffffL;
+      }
+    }
+    return (int) (m >>> 32);
+  }
+
+  /**
+   * @return a real number uniformly in <tt>[0, 1)</tt>, with 53 random bits.
+   */
+  default double nextDouble() {
+    return (nextLong() >>> 11) * 0x1.0p-53;
+  }
+
+  /**
+   * @return a uniformly distributed boolean value.
+   */
+  default boolean nextBoolean() {
+    return nextInt() < 0;
+  }
+
+  /**
+   * Fills <tt>array</tt> from <tt>offset</tt> with <tt>length</tt> values. The values are the same
+   * as the ones <tt>length</tt> successive calls to {@link #nextInt()} would return.
+   *
+   * @param array
+   * @param offset
+   * @param length
+   * @throws IndexOutOfBoundsException if <tt>offset</tt> and <tt>length</tt> don't describe a
+   * valid range of <tt>array</tt>.
+   */
+  default void nextInts(int[] array, int offset, int length) {
+    checkPositionIndexes(offset, offset + length, array.length);
+    for (int i = offset, end = offset + length; i < end; i++) {
+      array[i] = nextInt();
+    }
+  }
+
+  /**
+   * Fills <tt>array</tt> from <tt>offset</tt> with <tt>length</tt> values. The values are the same
+   * as the ones <tt>length</tt> successive calls to {@link #nextLong()} would return.
+   *
+   * @param array
+   * @param offset
+   * @param length
+   * @throws IndexOutOfBoundsException if <tt>offset</tt> and <tt>length</tt> don't describe a
+   * valid range of <tt>array</tt>.
+   */
+  default void nextLongs(long[] array, int offset, int length) {
+    checkPositionIndexes(offset, offset + length, array.length);
+    for (int i = offset, end = offset + length; i < end; i++) {
+      array[i] = nextLong();
+    }
+  }
+
+  /**
+   * Fills <tt>array</tt> from <tt>offset</tt> with <tt>length</tt> values. The values are the same
+   * as the ones <tt>length</tt> successive calls to {@link #nextDouble()} would return.
+   *
+   * @param array
+   * @param offset
+   * @param length
+   * @throws IndexOutOfBoundsException if <tt>offset</tt> and <tt>length</tt> don't describe a
+   * valid range of <tt>array</tt>.
+   */
+  default void nextDoubles(double[] array, int offset, int length) {
+    checkPositionIndexes(offset, offset + length, array.length);
+    for (int i = offset, end = offset + length; i < end; i++) {
+      array[i] = nextDouble();
+    }
+  }
+}
@@ -0,0 +1,421 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import static be.fror.common.base.Preconditions.checkArgument;
+import static be.fror.common.base.Preconditions.checkNotNull;
+import static be.fror.common.base.Preconditions.checkPositionIndexes;
+import static java.lang.Math.min;
+
+import be.fror.common.io.ByteSink;
+import be.fror.common.io.ByteSource;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The SIMD-oriented Fast Mersenne Twister, SFMT19937.
+ *
+ * <p>
+ * Each 128-bit word of the state is stored as a pair of longs, so that the whole state is
+ * regenerated with 64-bit operations. The 32-bit outputs are the same as those of the reference
+ * implementation, <tt>gen_rand32()</tt>.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+public final class SimdFastMersenneTwister extends Random {
+
+  private static final int N = 156;
+  private static final int N32 = N * 4;
+  private static final int POS1 = 122;
+  private static final int SL1 = 18;
+  private static final int SL2 = 1 * Byte.SIZE;
+  private static final int SR1 = 11;
+  private static final int SR2 = 1 * Byte.SIZE;
+
+  // 32-bit lane masks for the 64-bit shifts: they clear the bits moved across lanes.
+  private static final long SR1_LANES = (0xffffffffL >>> SR1) << 32 | (0xffffffffL >>> SR1);
+  private static final long SL1_LANES = (0xffffffffL << SL1 & 0xffffffffL) << 32 | (0xffffffffL << SL1 & 0xffffffffL);
+
+  // MSK2:MSK1 and MSK4:MSK3
+  private static final long MASK_LOW = 0xddfecb7fdfffffefL & SR1_LANES;
+  private static final long MASK_HIGH = 0xbffffff6bffaffffL & SR1_LANES;
+
+  private static final int[] PARITY = {0x00000001, 0x00000000, 0x00000000, 0x13c9e684};
+
+  private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+  private static final int STATE_SIZE = Integer.BYTES + 2 * N * Long.BYTES + 1 + Double.BYTES;
+
+  private long[] state;
+  private int index;
+
+  private double nextGaussian;
+  private boolean haveNextGaussian;
+
+  public SimdFastMersenneTwister() {
+  }
+
+  public SimdFastMersenneTwister(long seed) {
+    setSeed(seed);
+  }
+
+  public SimdFastMersenneTwister(int[] seed) {
+    setSeed(seed);
+  }
+
+  /**
+   * Sets the seed using the low 32 bits of <tt>seed</tt>, as the reference
+   * <tt>init_gen_rand()</tt> does.
+   *
+   * @param seed
+   */
+  @Override
+  public synchronized void setSeed(long seed) {
+    final int[] s = new int[N32];
+    s[0] = (int) seed;
+    for (int i = 1; i < N32; i++) {
+      s[i] = 0x6c078965 * (s[i - 1] ^ (s[i - 1] >>> 30)) + i;
+    }
+    init(s);
+  }
+
+  public synchronized void setSeed(int[] seed) {
+    checkArgument(seed.length != 0);
+    final int[] s = new int[N32];
+    final int lag = 11;
+    final int mid = (N32 - lag) / 2;
+    Arrays.fill(s, 0x8b8b8b8b);
+    int count = seed.length + 1 > N32 ? seed.length + 1 : N32;
+    int r = func1(s[0] ^ s[mid] ^ s[N32 - 1]);
+    s[mid] += r;
+    r += seed.length;
+    s[mid + lag] += r;
+    s[0] = r;
+    count--;
+    int i = 1;
+    int j = 0;
+    for (; j < count && j < seed.length; j++) {
+      r = func1(s[i] ^ s[(i + mid) % N32] ^ s[(i + N32 - 1) % N32]);
+      s[(i + mid) % N32] += r;
+      r += seed[j] + i;
+      s[(i + mid + lag) % N32] += r;
+      s[i] = r;
+      i = (i + 1) % N32;
+    }
+    for (; j < count; j++) {
+      r = func1(s[i] ^ s[(i + mid) % N32] ^ s[(i + N32 - 1) % N32]);
+      s[(i + mid) % N32] += r;
+      r += i;
+      s[(i + mid + lag) % N32] += r;
+      s[i] = r;
+      i = (i + 1) % N32;
+    }
+    for (j = 0; j < N32; j++) {
+      r = func2(s[i] + s[(i + mid) % N32] + s[(i + N32 - 1) % N32]);
+      s[(i + mid) % N32] ^= r;
+      r -= i;
+      s[(i + mid + lag) % N32] ^= r;
+      s[i] = r;
+      i = (i + 1) % N32;
+    }
+    init(s);
+  }
+
+  private void init(int[] s) {
+    certifyPeriod(s);
+    final long[] st = new long[N32 / 2];
+    for (int i = 0; i < st.length; i++) {
+      st[i] = (s[2 * i] & 0xffffffffL) | ((long) s[2 * i + 1] << 32);
+    }
+    state = st;
+    index = N32;
+    haveNextGaussian = false;
+  }
+
+  private static void certifyPeriod(int[] s) {
+    int inner = 0;
+    for (int i = 0; i < 4; i++) {
+      inner ^= s[i] & PARITY[i];
+    }
+    if ((Integer.bitCount(inner) & 1) == 1) {
+      return;
+    }
+    for (int i = 0; i < 4; i++) {
+      if (PARITY[i] != 0) {
+        s[i] ^= Integer.lowestOneBit(PARITY[i]);
+        return;
+      }
+    }
+  }
+
+  private static int func1(int x) {
+    return (x ^ (x >>> 27)) * 1664525;
+  }
+
+  private static int func2(int x) {
+    return (x ^ (x >>> 27)) * 1566083941;
+  }
+
+  @Override
+  protected int next(int bits) {
+    if (index == N32) {
+      regenerate();
+    }
+    return word(state, index++) >>> (32 - bits);
+  }
+
+  /**
+   * Fills <tt>array</tt> from <tt>offset</tt> with <tt>length</tt> values. The values are the same
+   * as the ones <tt>length</tt> successive calls to {@link #nextInt()} would return.
+   *
+   * @param array
+   * @param offset
+   * @param length
+   * @throws IndexOutOfBoundsException if <tt>offset</tt> and <tt>length</tt> don't describe a
+   * valid range of <tt>array</tt>.
+   */
+  public void nextInts(int[] array, int offset, int length) {
+    checkPositionIndexes(offset, offset + length, array.length);
+    final int end = offset + length;
+    while (offset < end) {
+      if (index == N32) {
+        regenerate();
+      }
+      final long[] st = state;
+      final int start = index;
+      final int n = min(N32 - start, end - offset);
+      for (int k = 0; k < n; k++) {
+        array[offset + k] = word(st, start + k);
+      }
+      index = start + n;
+      offset += n;
+    }
+  }
+
+  /**
+   * Fills <tt>array</tt> from <tt>offset</tt> with <tt>length</tt> values. The values are the same
+   * as the ones <tt>length</tt> successive calls to {@link #nextLong()} would return.
+   *
+   * @param array
+   * @param offset
+   * @param length
+   * @throws IndexOutOfBoundsException if <tt>offset</tt> and <tt>length</tt> don't describe a
+   * valid range of <tt>array</tt>.
+   */
+  public void nextLongs(long[] array, int offset, int length) {
+    checkPositionIndexes(offset, offset + length, array.length);
+    final int end = offset + length;
+    while (offset < end) {
+      if (N32 - index < 2) {
+        // A long spans the block boundary.
+        array[offset++] = nextLong();
+        continue;
+      }
+      final long[] st = state;
+      int i = index;
+      final int n = min((N32 - i) >>> 1, end - offset);
+      for (int k = 0; k < n; k++, i += 2) {
+        array[offset + k] = ((long) word(st, i) << 32) + word(st, i + 1);
+      }
+      index = i;
+      offset += n;
+    }
+  }
+
+  /**
+   * Fills <tt>array</tt> from <tt>offset</tt> with <tt>length</tt> values. The values are the same
+   * as the ones <tt>length</tt> successive calls to {@link #nextDouble()} would return.
+   *
+   * @param array
+   * @param offset
+   * @param length
+   * @throws IndexOutOfBoundsException if <tt>offset</tt> and <tt>length</tt> don't describe a
+   * valid range of <tt>array</tt>.
+   */
+  public void nextDoubles(double[] array, int offset, int length) {
+    checkPositionIndexes(offset, offset + length, array.length);
+    final int end = offset + length;
+    while (offset < end) {
+      if (N32 - index < 2) {
+        // A double spans the block boundary.
+        array[offset++] = nextDouble();
+        continue;
+      }
+      final long[] st = state;
+      int i = index;
+      final int n = min((N32 - i) >>> 1, end - offset);
+      for (int k = 0; k < n; k++, i += 2) {
+        array[offset + k] = (((long) (word(st, i) >>> 6) << 27) + (word(st, i + 1) >>> 5)) * DOUBLE_UNIT;
+      }
+      index = i;
+      offset += n;
+    }
+  }
+
+  /**
+   * Fills the remaining bytes of <tt>buffer</tt>. The bytes are the same as the ones
+   * {@link #nextBytes(byte[])} would generate for an array of <tt>buffer.remaining()</tt> bytes,
+   * whatever the order of <tt>buffer</tt> is.
+   *
+   * @param buffer
+   */
+  public void nextBytes(ByteBuffer buffer) {
+    checkNotNull(buffer);
+    final boolean littleEndian = buffer.order() == ByteOrder.LITTLE_ENDIAN;
+    while (buffer.remaining() >= Integer.BYTES) {
+      if (index == N32) {
+        regenerate();
+      }
+      final long[] st = state;
+      final int start = index;
+      final int n = min(N32 - start, buffer.remaining() / Integer.BYTES);
+      for (int k = 0; k < n; k++) {
+        final int y = word(st, start + k);
+        buffer.putInt(littleEndian ? y : Integer.reverseBytes(y));
+      }
+      index = start + n;
+    }
+    if (buffer.hasRemaining()) {
+      for (int y = next(32); buffer.hasRemaining(); y >>= Byte.SIZE) {
+        buffer.put((byte) y);
+      }
+    }
+  }
+
+  /**
+   * Returns the same values as {@link Random#nextGaussian()}, using the polar method, but
+   * without synchronizing.
+   *
+   * @return
+   */
+  @Override
+  public double nextGaussian() {
+    if (haveNextGaussian) {
+      haveNextGaussian = false;
+      return nextGaussian;
+    }
+    double v1, v2, s;
+    do {
+      v1 = 2 * nextDouble() - 1;
+      v2 = 2 * nextDouble() - 1;
+      s = v1 * v1 + v2 * v2;
+    } while (s >= 1 || s == 0);
+    final double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+    nextGaussian = v2 * multiplier;
+    haveNextGaussian = true;
+    return v1 * multiplier;
+  }
+
+  /**
+   * Returns the state of this generator, from which {@link #restoreState(byte[])} resumes the
+   * exact same sequence. The state takes about 2.5 kB.
+   *
+   * @return
+   */
+  public synchronized byte[] saveState() {
+    final ByteBuffer buffer = GeneratorState.allocate(GeneratorState.SIMD_FAST_MERSENNE_TWISTER, STATE_SIZE);
+    buffer.putInt(index);
+    buffer.asLongBuffer().put(state);
+    buffer.position(buffer.position() + 2 * N * Long.BYTES);
+    return buffer
+        .put((byte) (haveNextGaussian ? 1 : 0))
+        .putDouble(nextGaussian)
+        .array();
+  }
+
+  /**
+   * Sets the state of this generator to <tt>state</tt>, as returned by {@link #saveState()} on a
+   * generator of the same class.
+   *
+   * @param state
+   * @throws IllegalArgumentException if <tt>state</tt> isn't a state of this class of generator.
+   */
+  public synchronized void restoreState(byte[] state) {
+    final ByteBuffer buffer = GeneratorState.read(GeneratorState.SIMD_FAST_MERSENNE_TWISTER, STATE_SIZE, state);
+    final int index = buffer.getInt();
+    checkArgument(index >= 0 && index <= N32, "invalid index");
+    final long[] st = new long[2 * N];
+    buffer.asLongBuffer().get(st);
+    buffer.position(buffer.position() + 2 * N * Long.BYTES);
+    final boolean haveNextGaussian = buffer.get() != 0;
+    final double nextGaussian = buffer.getDouble();
+    this.state = st;
+    this.index = index;
+    this.haveNextGaussian = haveNextGaussian;
+    this.nextGaussian = nextGaussian;
+  }
+
+  /**
+   * Writes the state of this generator to <tt>sink</tt>.
+   *
+   * @param sink
+   * @throws UncheckedIOException if an I/O error occurs.
+   */
+  public void saveState(ByteSink sink) throws UncheckedIOException {
+    sink.write(saveState());
+  }
+
+  /**
+   * Sets the state of this generator to the state read from <tt>source</tt>.
+   *
+   * @param source
+   * @throws UncheckedIOException if an I/O error occurs.
+   * @throws IllegalArgumentException if <tt>source</tt> doesn't contain a state of this class of
+   * generator.
+   */
+  public void restoreState(ByteSource source) throws UncheckedIOException {
+    restoreState(source.read());
+  }
+
+  private static int word(long[] state, int i) {
+    return (int) (state[i >>> 1] >>> ((i & 1) << 5));
+  }
+
+  private void regenerate() {
+    final long[] st = state;
+    long r1Low = st[2 * (N - 2)];
+    long r1High = st[2 * (N - 2) + 1];
+    long r2Low = st[2 * (N - 1)];
+    long r2High = st[2 * (N - 1) + 1];
+    for (int i = 0; i < 2 * N; i += 2) {
+      final int b = i < 2 * (N - POS1) ? i + 2 * POS1 : i + 2 * (POS1 - N);
+      final long aLow = st[i];
+      final long aHigh = st[i + 1];
+      final long rLow = aLow
+          ^ (aLow << SL2)
+          ^ ((st[b] >>> SR1) & MASK_LOW)
+          ^ ((r1Low >>> SR2) | (r1High << (64 - SR2)))
+          ^ ((r2Low << SL1) & SL1_LANES);
+      final long rHigh = aHigh
+          ^ ((aHigh << SL2) | (aLow >>> (64 - SL2)))
+          ^ ((st[b + 1] >>> SR1) & MASK_HIGH)
+          ^ (r1High >>> SR2)
+          ^ ((r2High << SL1) & SL1_LANES);
+      st[i] = rLow;
+      st[i + 1] = rHigh;
+      r1Low = r2Low;
+      r1High = r2High;
+      r2Low = rLow;
+      r2High = rHigh;
+    }
+    index = 0;
+  }
+
+}
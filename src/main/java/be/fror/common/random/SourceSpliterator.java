@@ -0,0 +1,193 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import static be.fror.common.base.Preconditions.checkNotNull;
+
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * The spliterator of the streams of {@link RandomSource#intStream(RandomSource, long, Function)}
+ * and its siblings: the values of a sampler created for a source. If the source is a
+ * {@link SplittableRandomSource}, the source is split along with the spliterator, and the new
+ * spliterator gets a sampler of its own for the new source.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ * @param <T_SPLITR>
+ */
+abstract class SourceSpliterator<T_SPLITR extends Spliterator<?>> {
+
+  private static final int CHARACTERISTICS
+      = Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+
+  /**
+   * Returns the source of the first spliterator of a stream over <tt>source</tt>: a source split
+   * from it if it's splittable, so that the stream doesn't share its source with the caller.
+   */
+  static RandomSource root(RandomSource source) {
+    return source instanceof SplittableRandomSource
+        ? ((SplittableRandomSource) source).split()
+        : source;
+  }
+
+  // Null if the source doesn't split.
+  private final SplittableRandomSource splittable;
+  long index;
+  final long fence;
+
+  SourceSpliterator(RandomSource source, long index, long fence) {
+    this.splittable = source instanceof SplittableRandomSource ? (SplittableRandomSource) source : null;
+    this.index = index;
+    this.fence = fence;
+  }
+
+  abstract T_SPLITR create(SplittableRandomSource source, long index, long fence);
+
+  public T_SPLITR trySplit() {
+    final long i = index;
+    final long m = (i + fence) >>> 1;
+    return splittable == null || m <= i ? null : create(splittable.split(), i, index = m);
+  }
+
+  public long estimateSize() {
+    return fence - index;
+  }
+
+  public int characteristics() {
+    return CHARACTERISTICS;
+  }
+
+  static final class Ints extends SourceSpliterator<Spliterator.OfInt> implements Spliterator.OfInt {
+
+    private final Function<? super RandomSource, ? extends IntSupplier> factory;
+    private final IntSupplier sampler;
+
+    Ints(RandomSource source, Function<? super RandomSource, ? extends IntSupplier> factory, long index, long fence) {
+      super(source, index, fence);
+      this.factory = factory;
+      this.sampler = factory.apply(source);
+    }
+
+    @Override
+    Ints create(SplittableRandomSource source, long index, long fence) {
+      return new Ints(source, factory, index, fence);
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+      checkNotNull(action);
+      if (index < fence) {
+        action.accept(sampler.getAsInt());
+        index++;
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+      checkNotNull(action);
+      final IntSupplier s = sampler;
+      for (long i = index, f = fence; i < f; i++) {
+        action.accept(s.getAsInt());
+      }
+      index = fence;
+    }
+  }
+
+  static final class Longs extends SourceSpliterator<Spliterator.OfLong> implements Spliterator.OfLong {
+
+    private final Function<? super RandomSource, ? extends LongSupplier> factory;
+    private final LongSupplier sampler;
+
+    Longs(RandomSource source, Function<? super RandomSource, ? extends LongSupplier> factory, long index, long fence) {
+      super(source, index, fence);
+      this.factory = factory;
+      this.sampler = factory.apply(source);
+    }
+
+    @Override
+    Longs create(SplittableRandomSource source, long index, long fence) {
+      return new Longs(source, factory, index, fence);
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+      checkNotNull(action);
+      if (index < fence) {
+        action.accept(sampler.getAsLong());
+        index++;
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public void forEachRemaining(LongConsumer action) {
+      checkNotNull(action);
+      final LongSupplier s = sampler;
+      for (long i = index, f = fence; i < f; i++) {
+        action.accept(s.getAsLong());
+      }
+      index = fence;
+    }
+  }
+
+  static final class Doubles extends SourceSpliterator<Spliterator.OfDouble> implements Spliterator.OfDouble {
+
+    private final Function<? super RandomSource, ? extends DoubleSupplier> factory;
+    private final DoubleSupplier sampler;
+
+    Doubles(RandomSource source, Function<? super RandomSource, ? extends DoubleSupplier> factory, long index, long fence) {
+      super(source, index, fence);
+      this.factory = factory;
+      this.sampler = factory.apply(source);
+    }
+
+    @Override
+    Doubles create(SplittableRandomSource source, long index, long fence) {
+      return new Doubles(source, factory, index, fence);
+    }
+
+    @Override
+    public boolean tryAdvance(DoubleConsumer action) {
+      checkNotNull(action);
+      if (index < fence) {
+        action.accept(sampler.getAsDouble());
+        index++;
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public void forEachRemaining(DoubleConsumer action) {
+      checkNotNull(action);
+      final DoubleSupplier s = sampler;
+      for (long i = index, f = fence; i < f; i++) {
+        action.accept(s.getAsDouble());
+      }
+      index = fence;
+    }
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Vigna's SplitMix64: a 64-bit state advanced by a constant and mixed into each output.
+ *
+ * <p>
+ * Besides being a fast generator on its own, it's the recommended way to expand a single
+ * <tt>long</tt> seed into the state of the other generators.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+public final class SplitMix64 extends AbstractGenerator {
+
+  static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+  private long state;
+
+  public SplitMix64() {
+    this(randomSeed());
+  }
+
+  public SplitMix64(long seed) {
+    this.state = seed;
+  }
+
+  @Override
+  public long nextLong() {
+    return mix64(state += GOLDEN_GAMMA);
+  }
+
+  /**
+   * Advances this generator by <tt>steps</tt> outputs, or moves it back if <tt>steps</tt> is
+   * negative. This takes constant time.
+   *
+   * @param steps
+   */
+  public void advance(long steps) {
+    state += steps * GOLDEN_GAMMA;
+  }
+
+  @Override
+  public byte[] saveState() {
+    return GeneratorState.allocate(GeneratorState.SPLIT_MIX_64, Long.BYTES)
+        .putLong(state)
+        .array();
+  }
+
+  @Override
+  public void restoreState(byte[] state) {
+    final ByteBuffer buffer = GeneratorState.read(GeneratorState.SPLIT_MIX_64, Long.BYTES, state);
+    this.state = buffer.getLong();
+  }
+
+  /**
+   * Returns a new generator seeded from the next output of this one.
+   *
+   * @return
+   */
+  @Override
+  public SplitMix64 split() {
+    return new SplitMix64(nextLong());
+  }
+
+  static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import static be.fror.common.base.Preconditions.checkNotNull;
+
+import java.util.SplittableRandom;
+
+/**
+ * A {@link RandomSource} that can be split into independent sources, so that parallel computations
+ * each get their own source instead of sharing one.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+public interface SplittableRandomSource extends RandomSource {
+
+  /**
+   * Returns a source drawing its values from <tt>random</tt>, and splitting it when split.
+   *
+   * <p>
+   * The values of the returned source are those of the matching methods of <tt>random</tt>.
+   *
+   * @param random
+   * @return
+   * @throws NullPointerException if <tt>random</tt> is <tt>null</tt>.
+   */
+  static SplittableRandomSource of(SplittableRandom random) {
+    checkNotNull(random);
+    return new JdkSplittableRandomSource(random);
+  }
+
+  /**
+   * Returns a new source for a stream of values that is, for all practical purposes, independent
+   * of the stream of this source.
+   *
+   * @return
+   */
+  SplittableRandomSource split();
+}
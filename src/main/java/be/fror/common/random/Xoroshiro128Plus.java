@@ -0,0 +1,141 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import static be.fror.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Blackman and Vigna's xoroshiro128+: a 128-bit F2-linear state whose two words are added. Its
+ * period is <tt>2<sup>128</sup> - 1</tt>.
+ *
+ * <p>
+ * This is the fastest of the generators for real numbers. The lowest bits of its outputs are
+ * weak, so {@link #nextInt()} and {@link #nextDouble()} only use the highest ones.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+public final class Xoroshiro128Plus extends AbstractGenerator {
+
+  private static final long[] JUMP = {0xdf900294d8f554a5L, 0x170865df4b3201fcL};
+
+  private static final long[] LONG_JUMP = {0xd2a98b26625eee7bL, 0xdddf9b1090aa7ac1L};
+
+  private long s0;
+  private long s1;
+
+  public Xoroshiro128Plus() {
+    this(randomSeed());
+  }
+
+  /**
+   * Creates a generator whose state is expanded from <tt>seed</tt> with {@link SplitMix64}.
+   *
+   * @param seed
+   */
+  public Xoroshiro128Plus(long seed) {
+    final SplitMix64 seeder = new SplitMix64(seed);
+    this.s0 = seeder.nextLong();
+    this.s1 = seeder.nextLong();
+  }
+
+  /**
+   * Creates a generator with the given state.
+   *
+   * @param s0
+   * @param s1
+   * @throws IllegalArgumentException if the state is all zeros.
+   */
+  public Xoroshiro128Plus(long s0, long s1) {
+    checkArgument((s0 | s1) != 0L, "the state must not be all zeros");
+    this.s0 = s0;
+    this.s1 = s1;
+  }
+
+  @Override
+  public long nextLong() {
+    final long t0 = s0;
+    long t1 = s1;
+    final long result = t0 + t1;
+    t1 ^= t0;
+    s0 = Long.rotateLeft(t0, 24) ^ t1 ^ (t1 << 16);
+    s1 = Long.rotateLeft(t1, 37);
+    return result;
+  }
+
+  /**
+   * Advances this generator by <tt>2<sup>64</sup></tt> outputs.
+   */
+  public void jump() {
+    jump(JUMP);
+  }
+
+  /**
+   * Advances this generator by <tt>2<sup>96</sup></tt> outputs.
+   */
+  public void longJump() {
+    jump(LONG_JUMP);
+  }
+
+  @Override
+  public byte[] saveState() {
+    return GeneratorState.allocate(GeneratorState.XOROSHIRO_128_PLUS, 2 * Long.BYTES)
+        .putLong(s0)
+        .putLong(s1)
+        .array();
+  }
+
+  @Override
+  public void restoreState(byte[] state) {
+    final ByteBuffer buffer = GeneratorState.read(GeneratorState.XOROSHIRO_128_PLUS, 2 * Long.BYTES, state);
+    final long s0 = buffer.getLong();
+    final long s1 = buffer.getLong();
+    checkArgument((s0 | s1) != 0L, "the state must not be all zeros");
+    this.s0 = s0;
+    this.s1 = s1;
+  }
+
+  /**
+   * Returns a new generator seeded from the next output of this one, like {@link SplitMix64}.
+   *
+   * <p>
+   * Unlike a copy of this generator followed by a {@link #jump()}, splitting the new generator
+   * again doesn't land on the state of this one, so nested splits don't repeat each other.
+   *
+   * @return
+   */
+  @Override
+  public Xoroshiro128Plus split() {
+    return new Xoroshiro128Plus(nextLong());
+  }
+
+  private void jump(long[] polynomial) {
+    long t0 = 0L;
+    long t1 = 0L;
+    for (long word : polynomial) {
+      for (int b = 0; b < 64; b++) {
+        if ((word & (1L << b)) != 0L) {
+          t0 ^= s0;
+          t1 ^= s1;
+        }
+        nextLong();
+      }
+    }
+    s0 = t0;
+    s1 = t1;
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import static be.fror.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Blackman and Vigna's xoshiro256**: a 256-bit F2-linear state scrambled by a multiplication and
+ * a rotation. Its period is <tt>2<sup>256</sup> - 1</tt>.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+public final class Xoshiro256StarStar extends AbstractGenerator {
+
+  private static final long[] JUMP = {
+    0x180ec6d33cfd0abaL, 0xd5a61266f0c9392cL, 0xa9582618e03fc9aaL, 0x39abdc4529b1661cL};
+
+  private static final long[] LONG_JUMP = {
+    0x76e15d3efefdcbbfL, 0xc5004e441c522fb3L, 0x77710069854ee241L, 0x39109bb02acbe635L};
+
+  private long s0;
+  private long s1;
+  private long s2;
+  private long s3;
+
+  public Xoshiro256StarStar() {
+    this(randomSeed());
+  }
+
+  /**
+   * Creates a generator whose state is expanded from <tt>seed</tt> with {@link SplitMix64}.
+   *
+   * @param seed
+   */
+  public Xoshiro256StarStar(long seed) {
+    final SplitMix64 seeder = new SplitMix64(seed);
+    this.s0 = seeder.nextLong();
+    this.s1 = seeder.nextLong();
+    this.s2 = seeder.nextLong();
+    this.s3 = seeder.nextLong();
+  }
+
+  /**
+   * Creates a generator with the given state.
+   *
+   * @param s0
+   * @param s1
+   * @param s2
+   * @param s3
+   * @throws IllegalArgumentException if the state is all zeros.
+   */
+  public Xoshiro256StarStar(long s0, long s1, long s2, long s3) {
+    checkArgument((s0 | s1 | s2 | s3) != 0L, "the state must not be all zeros");
+    this.s0 = s0;
+    this.s1 = s1;
+    this.s2 = s2;
+    this.s3 = s3;
+  }
+
+  @Override
+  public long nextLong() {
+    final long result = Long.rotateLeft(s1 * 5, 7) * 9;
+    final long t = s1 << 17;
+    s2 ^= s0;
+    s3 ^= s1;
+    s1 ^= s2;
+    s0 ^= s3;
+    s2 ^= t;
+    s3 = Long.rotateLeft(s3, 45);
+    return result;
+  }
+
+  /**
+   * Advances this generator by <tt>2<sup>128</sup></tt> outputs.
+   */
+  public void jump() {
+    jump(JUMP);
+  }
+
+  /**
+   * Advances this generator by <tt>2<sup>192</sup></tt> outputs.
+   */
+  public void longJump() {
+    jump(LONG_JUMP);
+  }
+
+  @Override
+  public byte[] saveState() {
+    return GeneratorState.allocate(GeneratorState.XOSHIRO_256_STAR_STAR, 4 * Long.BYTES)
+        .putLong(s0)
+        .putLong(s1)
+        .putLong(s2)
+        .putLong(s3)
+        .array();
+  }
+
+  @Override
+  public void restoreState(byte[] state) {
+    final ByteBuffer buffer = GeneratorState.read(GeneratorState.XOSHIRO_256_STAR_STAR, 4 * Long.BYTES, state);
+    final long s0 = buffer.getLong();
+    final long s1 = buffer.getLong();
+    final long s2 = buffer.getLong();
+    final long s3 = buffer.getLong();
+    checkArgument((s0 | s1 | s2 | s3) != 0L, "the state must not be all zeros");
+    this.s0 = s0;
+    this.s1 = s1;
+    this.s2 = s2;
+    this.s3 = s3;
+  }
+
+  /**
+   * Returns a new generator seeded from the next output of this one, like {@link SplitMix64}.
+   *
+   * <p>
+   * Unlike a copy of this generator followed by a {@link #jump()}, splitting the new generator
+   * again doesn't land on the state of this one, so nested splits don't repeat each other.
+   *
+   * @return
+   */
+  @Override
+  public Xoshiro256StarStar split() {
+    return new Xoshiro256StarStar(nextLong());
+  }
+
+  private void jump(long[] polynomial) {
+    long t0 = 0L;
+    long t1 = 0L;
+    long t2 = 0L;
+    long t3 = 0L;
+    for (long word : polynomial) {
+      for (int b = 0; b < 64; b++) {
+        if ((word & (1L << b)) != 0L) {
+          t0 ^= s0;
+          t1 ^= s1;
+          t2 ^= s2;
+          t3 ^= s3;
+        }
+        nextLong();
+      }
+    }
+    s0 = t0;
+    s1 = t1;
+    s2 = t2;
+    s3 = t3;
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.base;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import be.fror.common.random.RandomSource;
+import be.fror.common.random.Xoshiro256StarStar;
+
+import org.junit.Test;
+
+/**
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+public class AliasTableTest {
+
+  private static final int RUNS = 1_000_000;
+
+  @Test
+  public void sample() {
+    double[] weights = {1.0, 0.0, 3.0, 4.0, 2.0};
+    AliasTable table = new AliasTable(weights);
+    assertThat(table.size(), is(5));
+    RandomSource source = new Xoshiro256StarStar(42L);
+    int[] counts = new int[weights.length];
+    for (int i = 0; i < RUNS; i++) {
+      counts[table.sample(source)]++;
+    }
+    assertThat(counts[1], is(0));
+    for (int i = 0; i < weights.length; i++) {
+      assertThat((double) counts[i] / RUNS, is(closeTo(weights[i] / 10.0, 0.005)));
+    }
+  }
+
+  @Test
+  public void sample_single() {
+    AliasTable table = new AliasTable(new double[]{0.5});
+    RandomSource source = new Xoshiro256StarStar(42L);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(table.sample(source), is(0));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_empty() {
+    new AliasTable(new double[0]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_negative() {
+    new AliasTable(new double[]{1.0, -1.0});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_zeroSum() {
+    new AliasTable(new double[]{0.0, 0.0});
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.base;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.isOneOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import be.fror.common.random.Xoshiro256StarStar;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+public class EmpiricalDistributionTest {
+
+  private static final int RUNS = 200_000;
+
+  @Test
+  public void ofObservations_sampler() {
+    double[] observations = {3.0, 1.0, 2.0, 3.0};
+    EmpiricalDistribution distribution = EmpiricalDistribution.ofObservations(observations);
+    observations[0] = 42.0;
+    DoubleSampler sampler = distribution.sampler(new Xoshiro256StarStar(42L));
+    int[] counts = new int[4];
+    for (int i = 0; i < RUNS; i++) {
+      double value = sampler.sample();
+      assertThat(value, isOneOf(1.0, 2.0, 3.0));
+      counts[(int) value]++;
+    }
+    assertThat((double) counts[1] / RUNS, is(closeTo(0.25, 0.01)));
+    assertThat((double) counts[2] / RUNS, is(closeTo(0.25, 0.01)));
+    assertThat((double) counts[3] / RUNS, is(closeTo(0.5, 0.01)));
+  }
+
+  @Test
+  public void ofObservations_interpolatingSampler() {
+    EmpiricalDistribution distribution = EmpiricalDistribution.ofObservations(new double[]{0.0, 1.0, 3.0});
+    DoubleSampler sampler = distribution.interpolatingSampler(new Random(42L));
+    int below = 0;
+    for (int i = 0; i < RUNS; i++) {
+      double value = sampler.sample();
+      assertThat(value, is(allOf(greaterThanOrEqualTo(0.0), lessThan(3.0))));
+      if (value < 1.0) {
+        below++;
+      }
+    }
+    assertThat((double) below / RUNS, is(closeTo(0.5, 0.01)));
+  }
+
+  @Test
+  public void ofObservations_single() {
+    EmpiricalDistribution distribution = EmpiricalDistribution.ofObservations(new double[]{7.0});
+    assertThat(distribution.sampler(new Random(42L)).sample(), is(7.0));
+    assertThat(distribution.interpolatingSampler(new Random(42L)).sample(), is(7.0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void ofObservations_empty() {
+    EmpiricalDistribution.ofObservations(new double[0]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void ofObservations_nan() {
+    EmpiricalDistribution.ofObservations(new double[]{1.0, Double.NaN});
+  }
+
+  @Test
+  public void ofHistogram_sampler() {
+    EmpiricalDistribution distribution = EmpiricalDistribution.ofHistogram(
+        new double[]{0.0, 10.0, 20.0, 40.0}, new double[]{1.0, 0.0, 3.0});
+    double[] values = new double[RUNS];
+    distribution.sampler(new Xoshiro256StarStar(42L)).fill(values);
+    int low = 0;
+    for (double value : values) {
+      assertThat(value, isOneOf(5.0, 30.0));
+      if (value == 5.0) {
+        low++;
+      }
+    }
+    assertThat((double) low / RUNS, is(closeTo(0.25, 0.01)));
+  }
+
+  @Test
+  public void ofHistogram_interpolatingSampler() {
+    EmpiricalDistribution distribution = EmpiricalDistribution.ofHistogram(
+        new double[]{0.0, 10.0, 20.0, 40.0}, new double[]{1.0, 0.0, 3.0});
+    DoubleSampler sampler = distribution.interpolatingSampler(new Xoshiro256StarStar(42L));
+    double sum = 0;
+    for (int i = 0; i < RUNS; i++) {
+      double value = sampler.sample();
+      assertThat(value, is(allOf(greaterThanOrEqualTo(0.0), lessThanOrEqualTo(40.0))));
+      assertThat(value < 10.0 || value >= 20.0, is(true));
+      sum += value;
+    }
+    assertThat(sum / RUNS, is(closeTo(0.25 * 5.0 + 0.75 * 30.0, 0.2)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void ofHistogram_edges() {
+    EmpiricalDistribution.ofHistogram(new double[]{0.0, 1.0}, new double[]{1.0, 1.0});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void ofHistogram_decreasingEdges() {
+    EmpiricalDistribution.ofHistogram(new double[]{0.0, 2.0, 1.0}, new double[]{1.0, 1.0});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void ofHistogram_zeroCounts() {
+    EmpiricalDistribution.ofHistogram(new double[]{0.0, 1.0}, new double[]{0.0});
+  }
+}
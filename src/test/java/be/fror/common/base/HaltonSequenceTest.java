@@ -0,0 +1,106 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.base;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+/**
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+public class HaltonSequenceTest {
+
+  @Test
+  public void next() {
+    double[][] expected = {
+      {0.0, 0.0, 0.0},
+      {1.0 / 2, 1.0 / 3, 1.0 / 5},
+      {1.0 / 4, 2.0 / 3, 2.0 / 5},
+      {3.0 / 4, 1.0 / 9, 3.0 / 5},
+      {1.0 / 8, 4.0 / 9, 4.0 / 5},
+      {5.0 / 8, 7.0 / 9, 1.0 / 25}
+    };
+    HaltonSequence sequence = new HaltonSequence(3);
+    for (double[] point : expected) {
+      assertArrayEquals(point, sequence.next(), 1e-15);
+    }
+  }
+
+  @Test
+  public void skipTo() {
+    HaltonSequence[] sequential = {new HaltonSequence(20), new HaltonSequence(20, 42L)};
+    HaltonSequence[] skipping = {new HaltonSequence(20), new HaltonSequence(20, 42L)};
+    for (int s = 0; s < sequential.length; s++) {
+      for (int i = 0; i < 1000; i++) {
+        sequential[s].next();
+      }
+      skipping[s].skipTo(1000L);
+      assertArrayEquals(sequential[s].next(), skipping[s].next(), 0.0);
+    }
+  }
+
+  @Test
+  public void scrambled() {
+    // Scrambling keeps the stratification: any base^k first points have exactly one coordinate in
+    // each interval [j / base^k, (j + 1) / base^k).
+    int[] bases = {2, 3, 5, 7};
+    HaltonSequence sequence = new HaltonSequence(4, 42L);
+    int n = 2 * 2 * 2 * 2 * 2 * 2 * 3 * 3 * 3 * 5 * 5 * 7;
+    double[][] coordinates = new double[n][4];
+    sequence.fill(coordinates);
+    for (int d = 0; d < bases.length; d++) {
+      int strata = 1;
+      while (n % (strata * bases[d]) == 0) {
+        strata *= bases[d];
+      }
+      int[] counts = new int[strata];
+      for (double[] point : coordinates) {
+        assertThat(point[d], is(allOf(greaterThanOrEqualTo(0.0), lessThan(1.0))));
+        counts[(int) (point[d] * strata)]++;
+      }
+      for (int count : counts) {
+        assertThat("base " + bases[d], count, is(n / strata));
+      }
+    }
+    assertThat(new HaltonSequence(4, 42L).next()[0], is(not(new HaltonSequence(4, 43L).next()[0])));
+  }
+
+  @Test
+  public void quasiMonteCarlo() {
+    // The mean of the Cauchy distribution truncated to [-1, 1], with 10000 points.
+    HaltonSequence sequence = new HaltonSequence(1, 42L);
+    double sum = 0;
+    for (int i = 0; i < 10_000; i++) {
+      sum += Math.abs(RandomDistribution.cauchyQuantile(0.25 + 0.5 * sequence.next()[0]));
+    }
+    // E[|X| : |X| <= 1] = log(2) / (pi / 2)
+    assertThat(sum / 10_000, is(closeTo(Math.log(2) / (Math.PI / 2), 1e-3)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void dimension_zero() {
+    new HaltonSequence(0);
+  }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.base;
+
+import be.fror.common.random.RandomSource;
+import be.fror.common.random.Xoshiro256StarStar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-value cost of the {@link RandomDistribution} samplers, against the inversion and polar
+ * methods they replace. All of them draw from the same kind of source.
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomDistributionBenchmark {
+
+  private static final int SIZE = 4096;
+
+  private static final double LAMBDA = 2.5;
+
+  private static final int CATEGORIES = 1000;
+
+  private static final double POISSON_LAMBDA = 30.0;
+
+  private static final int BINOMIAL_N = 1000;
+  private static final double BINOMIAL_P = 0.3;
+
+  private RandomSource source;
+  private Random random;
+  private RandomDistribution distribution;
+  private DoubleSampler exponentialSampler;
+  private double[] probabilities;
+  private IntSampler discreteSampler;
+  private IntSampler poissonSampler;
+  private IntSampler binomialSampler;
+  private double[] doubles;
+  private int[] ints;
+
+  @Setup
+  public void setUp() {
+    source = new Xoshiro256StarStar(42L);
+    random = new Xoshiro256StarStar(42L).asRandom();
+    distribution = RandomDistribution.using(new Xoshiro256StarStar(42L));
+    exponentialSampler = RandomDistribution.using(new Xoshiro256StarStar(42L)).exponentialSampler(LAMBDA);
+    probabilities = new double[CATEGORIES];
+    final Random weights = new Random(42L);
+    double sum = 0;
+    for (int i = 0; i < CATEGORIES; i++) {
+      probabilities[i] = weights.nextDouble();
+      sum += probabilities[i];
+    }
+    for (int i = 0; i < CATEGORIES; i++) {
+      probabilities[i] /= sum;
+    }
+    discreteSampler = RandomDistribution.using(new Xoshiro256StarStar(42L)).prepareDiscrete(probabilities, 1e-9);
+    poissonSampler = RandomDistribution.using(new Xoshiro256StarStar(42L)).poissonSampler(POISSON_LAMBDA);
+    binomialSampler = RandomDistribution.using(new Xoshiro256StarStar(42L)).binomialSampler(BINOMIAL_N, BINOMIAL_P);
+    doubles = new double[SIZE];
+    ints = new int[SIZE];
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public double[] exponential_inversion() {
+    final double[] array = doubles;
+    for (int i = 0; i < SIZE; i++) {
+      array[i] = -Math.log(1 - source.nextDouble()) / LAMBDA;
+    }
+    return array;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public double[] exponential() {
+    final double[] array = doubles;
+    for (int i = 0; i < SIZE; i++) {
+      array[i] = distribution.exponential(LAMBDA);
+    }
+    return array;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public double[] exponentialSampler() {
+    exponentialSampler.fill(doubles, 0, SIZE);
+    return doubles;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public double[] gaussian_polar() {
+    final double[] array = doubles;
+    for (int i = 0; i < SIZE; i++) {
+      array[i] = random.nextGaussian();
+    }
+    return array;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public double[] gaussian() {
+    final double[] array = doubles;
+    for (int i = 0; i < SIZE; i++) {
+      array[i] = distribution.gaussian();
+    }
+    return array;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int[] discrete() {
+    final int[] array = ints;
+    for (int i = 0; i < SIZE; i++) {
+      array[i] = distribution.discrete(probabilities, 1e-9);
+    }
+    return array;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int[] discreteSampler() {
+    discreteSampler.fill(ints, 0, SIZE);
+    return ints;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int[] poisson() {
+    final int[] array = ints;
+    for (int i = 0; i < SIZE; i++) {
+      array[i] = distribution.poisson(POISSON_LAMBDA);
+    }
+    return array;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int[] poissonSampler() {
+    poissonSampler.fill(ints);
+    return ints;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int[] binomial_bernoulli() {
+    final int[] array = ints;
+    for (int i = 0; i < SIZE; i++) {
+      int k = 0;
+      for (int j = 0; j < BINOMIAL_N; j++) {
+        if (distribution.bernoulli(BINOMIAL_P)) {
+          k++;
+        }
+      }
+      array[i] = k;
+    }
+    return array;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int[] binomialSampler() {
+    binomialSampler.fill(ints);
+    return ints;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(RandomDistributionBenchmark.class.getSimpleName())
+        .build()
+    ).run();
+  }
+}
@@ -20,8 +20,13 @@ import static org.hamcrest.Matchers.closeTo;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertThat;
 
+import be.fror.common.random.RandomSource;
+import be.fror.common.random.Xoshiro256StarStar;
+
 import org.hamcrest.Matcher;
 import org.junit.After;
 import org.junit.AfterClass;
@@ -158,13 +163,82 @@ public class RandomDistributionTest {
    */
   @Test
   public void testGaussian_0args() {
+    int runs = 1_000_000;
+    double sum = 0;
+    double sumOfSquares = 0;
+    int withinOne = 0;
+    int withinTwo = 0;
+    int tail = 0;
+    for (int i = 0; i < runs; i++) {
+      double x = instance.gaussian();
+      sum += x;
+      sumOfSquares += x * x;
+      if (Math.abs(x) < 1) {
+        withinOne++;
+      }
+      if (Math.abs(x) < 2) {
+        withinTwo++;
+      }
+      if (Math.abs(x) > 3.6541528853610088) {
+        tail++;
+      }
+    }
+    assertThat(sum / runs, closeTo(0.0, 0.005));
+    assertThat(sumOfSquares / runs, closeTo(1.0, 0.005));
+    assertThat((double) withinOne / runs, closeTo(0.682689, 0.002));
+    assertThat((double) withinTwo / runs, closeTo(0.954500, 0.001));
+    assertThat((double) tail / runs, closeTo(2.58e-4, 0.5e-4));
   }
 
   /**
    * Test of gaussian method, of class RandomDistribution.
    */
+  @Test
+  public void testGaussian_constantLowBits() {
+    // The weakest bits of some generators: the ziggurat must not pick its layers with them.
+    RandomDistribution distribution = RandomDistribution.using(constantLowBits());
+    int runs = DEFAULT_RUNS;
+    double sum = 0;
+    double sumOfSquares = 0;
+    for (int i = 0; i < runs; i++) {
+      double x = distribution.gaussian();
+      sum += x;
+      sumOfSquares += x * x;
+    }
+    assertThat(sum / runs, closeTo(0.0, 0.02));
+    assertThat(sumOfSquares / runs, closeTo(1.0, 0.02));
+  }
+
+  /**
+   * @return a source whose <tt>nextLong()</tt> has its low 8 bits cleared.
+   */
+  private static RandomSource constantLowBits() {
+    RandomSource source = new Xoshiro256StarStar(42L);
+    return new RandomSource() {
+      @Override
+      public int nextInt() {
+        return source.nextInt();
+      }
+
+      @Override
+      public long nextLong() {
+        return source.nextLong() & ~0xffL;
+      }
+    };
+  }
+
   @Test
   public void testGaussian_double_double() {
+    int runs = DEFAULT_RUNS;
+    double sum = 0;
+    double sumOfSquares = 0;
+    for (int i = 0; i < runs; i++) {
+      double x = instance.gaussian(10.0, 2.0);
+      sum += x;
+      sumOfSquares += (x - 10.0) * (x - 10.0);
+    }
+    assertThat(sum / runs, closeTo(10.0, 0.02));
+    assertThat(sumOfSquares / runs, closeTo(4.0, 0.05));
   }
 
   /**
@@ -179,6 +253,254 @@ public class RandomDistributionTest {
    */
   @Test
   public void testPoisson() {
+    int runs = 200_000;
+    for (double lambda : new double[]{0.1, 1, 5, 9.99, 10, 30, 1000, 1e4, 1e6}) {
+      double sum = 0;
+      double sumOfSquares = 0;
+      for (int i = 0; i < runs; i++) {
+        int k = instance.poisson(lambda);
+        assertThat(k, is(greaterThanOrEqualTo(0)));
+        sum += k;
+        sumOfSquares += (double) k * k;
+      }
+      double mean = sum / runs;
+      double variance = sumOfSquares / runs - mean * mean;
+      String message = "lambda = " + lambda;
+      assertThat(message, mean, closeTo(lambda, 5 * Math.sqrt(lambda / runs)));
+      assertThat(message, variance, closeTo(lambda, 5 * Math.sqrt((lambda + 2 * lambda * lambda) / runs)));
+    }
+  }
+
+  @Test
+  public void testPoisson_maxLambda() {
+    // About half of the candidates are above Integer.MAX_VALUE: none of them may be accepted.
+    int saturated = 0;
+    for (int i = 0; i < 10_000; i++) {
+      if (instance.poisson(Integer.MAX_VALUE) == Integer.MAX_VALUE) {
+        saturated++;
+      }
+    }
+    assertThat(saturated, is(lessThan(10)));
+  }
+
+  @Test
+  public void testBinomial() {
+    int runs = 200_000;
+    int[] ns = {10, 1000, 100, 1000, 1_000_000, 7, 50, 50, 0};
+    double[] ps = {0.3, 0.01, 0.5, 0.9, 0.4, 0.999, 0.0, 1.0, 0.5};
+    for (int t = 0; t < ns.length; t++) {
+      int n = ns[t];
+      double p = ps[t];
+      double sum = 0;
+      double sumOfSquares = 0;
+      for (int i = 0; i < runs; i++) {
+        int k = instance.binomial(n, p);
+        assertThat(k, is(allOf(greaterThanOrEqualTo(0), lessThanOrEqualTo(n))));
+        sum += k;
+        sumOfSquares += (double) k * k;
+      }
+      double mean = sum / runs;
+      double variance = sumOfSquares / runs - mean * mean;
+      double expectedVariance = n * p * (1 - p);
+      String message = "n = " + n + ", p = " + p;
+      assertThat(message, mean, closeTo(n * p, 5 * Math.sqrt(expectedVariance / runs) + 1e-9));
+      assertThat(message, variance, closeTo(expectedVariance, 0.03 * expectedVariance + 1e-9));
+    }
+  }
+
+  @Test
+  public void testBinomial_frequencies() {
+    // n * p = 35: the BTPE algorithm, with all its regions.
+    int n = 70;
+    double p = 0.5;
+    int runs = 1_000_000;
+    int[] counts = new int[n + 1];
+    IntSampler sampler = instance.binomialSampler(n, p);
+    for (int i = 0; i < runs; i++) {
+      counts[sampler.sample()]++;
+    }
+    for (int k = 0; k <= n; k++) {
+      double pmf = Math.exp(RandomDistribution.logFactorial(n) - RandomDistribution.logFactorial(k)
+          - RandomDistribution.logFactorial(n - k) + k * Math.log(p) + (n - k) * Math.log(1 - p));
+      assertThat("k = " + k, (double) counts[k] / runs, closeTo(pmf, 5 * Math.sqrt(pmf / runs) + 1e-6));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBinomial_negativeN() {
+    instance.binomial(-1, 0.5);
+  }
+
+  @Test
+  public void testBinomialSampler() {
+    RandomDistribution expected = RandomDistribution.using(new Random(0L));
+    IntSampler sampler = instance.binomialSampler(500, 0.7);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(sampler.sample(), is(expected.binomial(500, 0.7)));
+    }
+  }
+
+  @Test
+  public void testGamma() {
+    int runs = 200_000;
+    double[] shapes = {0.2, 0.999, 1.0, 2.5, 100.0};
+    for (double shape : shapes) {
+      double scale = 1.5;
+      double sum = 0;
+      double sumOfSquares = 0;
+      for (int i = 0; i < runs; i++) {
+        double x = instance.gamma(shape, scale);
+        assertThat(x, is(greaterThanOrEqualTo(0.0)));
+        sum += x;
+        sumOfSquares += x * x;
+      }
+      double mean = sum / runs;
+      double variance = sumOfSquares / runs - mean * mean;
+      double expectedVariance = shape * scale * scale;
+      String message = "shape = " + shape;
+      assertThat(message, mean, closeTo(shape * scale, 5 * Math.sqrt(expectedVariance / runs)));
+      assertThat(message, variance, closeTo(expectedVariance, 0.05 * expectedVariance));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGamma_nonPositiveShape() {
+    instance.gamma(0.0, 1.0);
+  }
+
+  @Test
+  public void testGammaSampler() {
+    RandomDistribution expected = RandomDistribution.using(new Random(0L));
+    DoubleSampler sampler = instance.gammaSampler(0.5, 2.0);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(sampler.sample(), is(expected.gamma(0.5, 2.0)));
+    }
+  }
+
+  @Test
+  public void testBeta() {
+    int runs = 200_000;
+    double[][] parameters = {{0.5, 0.5}, {0.1, 0.9}, {1.0, 1.0}, {2.0, 5.0}, {0.3, 4.0}, {50.0, 20.0}};
+    for (double[] parameter : parameters) {
+      double a = parameter[0];
+      double b = parameter[1];
+      double sum = 0;
+      double sumOfSquares = 0;
+      for (int i = 0; i < runs; i++) {
+        double x = instance.beta(a, b);
+        assertThat(x, is(allOf(greaterThanOrEqualTo(0.0), lessThanOrEqualTo(1.0))));
+        sum += x;
+        sumOfSquares += x * x;
+      }
+      double mean = sum / runs;
+      double variance = sumOfSquares / runs - mean * mean;
+      double expectedVariance = a * b / ((a + b) * (a + b) * (a + b + 1));
+      String message = "alpha = " + a + ", beta = " + b;
+      assertThat(message, mean, closeTo(a / (a + b), 5 * Math.sqrt(expectedVariance / runs)));
+      assertThat(message, variance, closeTo(expectedVariance, 0.03 * expectedVariance));
+    }
+  }
+
+  @Test
+  public void testBetaSampler() {
+    RandomDistribution expected = RandomDistribution.using(new Random(0L));
+    DoubleSampler sampler = instance.betaSampler(3.0, 0.5);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(sampler.sample(), is(expected.beta(3.0, 0.5)));
+    }
+  }
+
+  @Test
+  public void testDirichlet() {
+    int runs = 100_000;
+    for (double[] alpha : new double[][]{{1.0, 2.0, 3.0, 4.0}, {0.01, 0.02, 0.05}}) {
+      double total = 0;
+      for (double a : alpha) {
+        total += a;
+      }
+      double[] sums = new double[alpha.length];
+      for (int i = 0; i < runs; i++) {
+        double[] x = instance.dirichlet(alpha);
+        double sum = 0;
+        for (int j = 0; j < x.length; j++) {
+          assertThat(x[j], is(allOf(greaterThanOrEqualTo(0.0), lessThanOrEqualTo(1.0))));
+          sum += x[j];
+          sums[j] += x[j];
+        }
+        assertThat(sum, is(closeTo(1.0, 1e-12)));
+      }
+      for (int j = 0; j < alpha.length; j++) {
+        double mean = alpha[j] / total;
+        double variance = mean * (1 - mean) / (total + 1);
+        assertThat(sums[j] / runs, is(closeTo(mean, 5 * Math.sqrt(variance / runs))));
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDirichlet_empty() {
+    instance.dirichlet(new double[0]);
+  }
+
+  @Test
+  public void testZipf() {
+    int runs = 1_000_000;
+    for (double exponent : new double[]{0.5, 1.0, 1.1, 3.0}) {
+      int n = 10;
+      int[] counts = new int[n + 1];
+      IntSampler sampler = instance.zipfSampler(n, exponent);
+      for (int i = 0; i < runs; i++) {
+        counts[sampler.sample()]++;
+      }
+      assertThat(counts[0], is(0));
+      double norm = 0;
+      for (int k = 1; k <= n; k++) {
+        norm += Math.pow(k, -exponent);
+      }
+      for (int k = 1; k <= n; k++) {
+        double p = Math.pow(k, -exponent) / norm;
+        assertThat("exponent = " + exponent + ", k = " + k, (double) counts[k] / runs,
+            closeTo(p, 5 * Math.sqrt(p / runs)));
+      }
+    }
+  }
+
+  @Test
+  public void testZipf_large() {
+    int n = 100_000_000;
+    int runs = 1_000_000;
+    int ones = 0;
+    for (int i = 0; i < runs; i++) {
+      int k = instance.zipf(n, 1.0);
+      assertThat(k, is(allOf(greaterThanOrEqualTo(1), lessThanOrEqualTo(n))));
+      if (k == 1) {
+        ones++;
+      }
+    }
+    // 1 / H(n), with H(n) ~ log(n) + gamma.
+    double p = 1 / (Math.log(n) + 0.5772156649015329);
+    assertThat((double) ones / runs, closeTo(p, 5 * Math.sqrt(p / runs)));
+  }
+
+  @Test
+  public void testZipf_one() {
+    for (int i = 0; i < 1000; i++) {
+      assertThat(instance.zipf(1, 2.0), is(1));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testZipf_nonPositiveExponent() {
+    instance.zipf(10, 0.0);
+  }
+
+  @Test
+  public void testLogFactorial() {
+    double expected = 0;
+    for (int k = 1; k < 1000; k++) {
+      expected += Math.log(k);
+      assertThat(RandomDistribution.logFactorial(k), closeTo(expected, 1e-12 * expected));
+    }
   }
 
   /**
@@ -200,6 +522,14 @@ public class RandomDistributionTest {
    */
   @Test
   public void testDiscrete_doubleArr() {
+    double[] a = {0.1, 0.0, 0.6, 0.3};
+    int[] counts = new int[a.length];
+    for (int i = 0; i < DEFAULT_RUNS; i++) {
+      counts[instance.discrete(a)]++;
+    }
+    for (int i = 0; i < a.length; i++) {
+      assertThat((double) counts[i] / DEFAULT_RUNS, is(closeTo(a[i], DEFAULT_EPSILON)));
+    }
   }
 
   /**
@@ -207,6 +537,46 @@ public class RandomDistributionTest {
    */
   @Test
   public void testDiscrete_doubleArr_double() {
+    assertThat(instance.discrete(new double[]{0.5, 0.499}, 0.01), is(inRangeClosedOpen(0, 2)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDiscrete_doubleArr_double_badSum() {
+    instance.discrete(new double[]{0.5, 0.49}, 0.001);
+  }
+
+  @Test
+  public void testPrepareDiscrete() {
+    double[] a = {0.1, 0.0, 0.6, 0.3};
+    IntSampler sampler = instance.prepareDiscrete(a);
+    int[] counts = new int[a.length];
+    for (int i = 0; i < DEFAULT_RUNS; i++) {
+      counts[sampler.sample()]++;
+    }
+    for (int i = 0; i < a.length; i++) {
+      assertThat((double) counts[i] / DEFAULT_RUNS, is(closeTo(a[i], DEFAULT_EPSILON)));
+    }
+  }
+
+  @Test
+  public void testPrepareDiscrete_copiesArray() {
+    double[] a = {0.0, 1.0};
+    IntSampler sampler = instance.prepareDiscrete(a);
+    a[0] = 1.0;
+    a[1] = 0.0;
+    for (int i = 0; i < 1000; i++) {
+      assertThat(sampler.sample(), is(1));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPrepareDiscrete_negative() {
+    instance.prepareDiscrete(new double[]{1.5, -0.5});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPrepareDiscrete_empty() {
+    instance.prepareDiscrete(new double[0]);
   }
 
   /**
@@ -214,6 +584,239 @@ public class RandomDistributionTest {
    */
   @Test
   public void testExponential() {
+    int runs = 1_000_000;
+    double lambda = 4.0;
+    double sum = 0;
+    double sumOfSquares = 0;
+    int belowMean = 0;
+    int tail = 0;
+    for (int i = 0; i < runs; i++) {
+      double x = instance.exponential(lambda);
+      assertThat(x, is(greaterThanOrEqualTo(0.0)));
+      sum += x;
+      sumOfSquares += x * x;
+      if (x < 1 / lambda) {
+        belowMean++;
+      }
+      if (x * lambda > 7.69711747013104972) {
+        tail++;
+      }
+    }
+    assertThat(sum / runs, closeTo(1 / lambda, 0.001));
+    assertThat(sumOfSquares / runs, closeTo(2 / (lambda * lambda), 0.002));
+    assertThat((double) belowMean / runs, closeTo(1 - Math.exp(-1), 0.002));
+    assertThat((double) tail / runs, closeTo(Math.exp(-7.69711747013104972), 0.2e-3));
+  }
+
+  @Test
+  public void testExponential_constantLowBits() {
+    RandomDistribution distribution = RandomDistribution.using(constantLowBits());
+    int runs = DEFAULT_RUNS;
+    double sum = 0;
+    double sumOfSquares = 0;
+    for (int i = 0; i < runs; i++) {
+      double x = distribution.exponential(1.0);
+      sum += x;
+      sumOfSquares += x * x;
+    }
+    assertThat(sum / runs, closeTo(1.0, 0.02));
+    assertThat(sumOfSquares / runs, closeTo(2.0, 0.05));
+  }
+
+  @Test
+  public void testExponentialSampler() {
+    RandomDistribution expected = RandomDistribution.using(new Random(0L));
+    DoubleSampler sampler = instance.exponentialSampler(4.0);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(sampler.sample(), is(expected.exponential(4.0)));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testExponentialSampler_negativeLambda() {
+    instance.exponentialSampler(-1.0);
+  }
+
+  @Test
+  public void testUniformSampler_int_int() {
+    RandomDistribution expected = RandomDistribution.using(new Random(0L));
+    IntSampler sampler = instance.uniformSampler(-5, 17);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(sampler.sample(), is(expected.uniform(-5, 17)));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUniformSampler_int_int_invalidRange() {
+    instance.uniformSampler(3, 3);
+  }
+
+  @Test
+  public void testUniformSampler_double_double() {
+    RandomDistribution expected = RandomDistribution.using(new Random(0L));
+    DoubleSampler sampler = instance.uniformSampler(-2.5, 4.0);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(sampler.sample(), is(expected.uniform(-2.5, 4.0)));
+    }
+  }
+
+  @Test
+  public void testGaussianSampler() {
+    RandomDistribution expected = RandomDistribution.using(new Random(0L));
+    DoubleSampler sampler = instance.gaussianSampler(3.0, 0.5);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(sampler.sample(), is(expected.gaussian(3.0, 0.5)));
+    }
+  }
+
+  @Test
+  public void testGeometricSampler() {
+    RandomDistribution expected = RandomDistribution.using(new Random(0L));
+    IntSampler sampler = instance.geometricSampler(0.2);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(sampler.sample(), is(expected.geometric(0.2)));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGeometricSampler_invalidP() {
+    instance.geometricSampler(1.5);
+  }
+
+  @Test
+  public void testPoissonSampler() {
+    for (double lambda : new double[]{0.5, 9.99, 10.0, 1000.0}) {
+      RandomDistribution expected = RandomDistribution.using(new Random(0L));
+      IntSampler sampler = RandomDistribution.using(new Random(0L)).poissonSampler(lambda);
+      for (int i = 0; i < 1000; i++) {
+        assertThat(sampler.sample(), is(expected.poisson(lambda)));
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPoissonSampler_invalidLambda() {
+    instance.poissonSampler(Double.NaN);
+  }
+
+  @Test
+  public void testParetoSampler() {
+    RandomDistribution expected = RandomDistribution.using(new Random(0L));
+    DoubleSampler sampler = instance.paretoSampler(1.5);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(sampler.sample(), is(expected.pareto(1.5)));
+    }
+  }
+
+  @Test
+  public void testCauchySampler() {
+    RandomDistribution expected = RandomDistribution.using(new Random(0L));
+    DoubleSampler sampler = instance.cauchySampler();
+    for (int i = 0; i < 1000; i++) {
+      assertThat(sampler.sample(), is(expected.cauchy()));
+    }
+  }
+
+  @Test
+  public void testSampler_fill() {
+    RandomDistribution expected = RandomDistribution.using(new Random(0L));
+    double[] doubles = new double[100];
+    instance.paretoSampler(2.0).fill(doubles);
+    for (double value : doubles) {
+      assertThat(value, is(expected.pareto(2.0)));
+    }
+    int[] ints = new int[100];
+    instance.geometricSampler(0.3).fill(ints, 10, 80);
+    for (int i = 0; i < ints.length; i++) {
+      assertThat(ints[i], is(i < 10 || i >= 90 ? 0 : expected.geometric(0.3)));
+    }
+  }
+
+  @Test
+  public void testFill() {
+    RandomDistribution expected = RandomDistribution.using(new Random(0L));
+    double[] doubles = new double[100];
+    instance.fillUniform(doubles, -1.0, 3.0);
+    for (double value : doubles) {
+      assertThat(value, is(expected.uniform(-1.0, 3.0)));
+    }
+    instance.fillGaussian(doubles);
+    for (double value : doubles) {
+      assertThat(value, is(expected.gaussian()));
+    }
+    instance.fillGaussian(doubles, 2.0, 3.0);
+    for (double value : doubles) {
+      assertThat(value, is(expected.gaussian(2.0, 3.0)));
+    }
+    instance.fillExponential(doubles, 0.5);
+    for (double value : doubles) {
+      assertThat(value, is(expected.exponential(0.5)));
+    }
+    int[] ints = new int[100];
+    instance.fillPoisson(ints, 42.0);
+    for (int value : ints) {
+      assertThat(value, is(expected.poisson(42.0)));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFillUniform_invalidRange() {
+    instance.fillUniform(new double[1], 1.0, 1.0);
+  }
+
+  @Test
+  public void testStreams() {
+    RandomDistribution expected = RandomDistribution.using(new Random(0L));
+    double[] gaussians = instance.gaussians(100L, 1.0, 2.0).toArray();
+    for (double value : gaussians) {
+      assertThat(value, is(expected.gaussian(1.0, 2.0)));
+    }
+    int[] poissons = instance.poissons(100L, 3.0).parallel().toArray();
+    for (int value : poissons) {
+      assertThat(value, is(expected.poisson(3.0)));
+    }
+  }
+
+  @Test
+  public void testStreams_splittable() {
+    RandomDistribution distribution = RandomDistribution.using(new Xoshiro256StarStar(42L));
+    double[] parallel = distribution.exponentials(100_000L, 2.0).parallel().toArray();
+    double[] parallelAgain = RandomDistribution.using(new Xoshiro256StarStar(42L))
+        .exponentials(100_000L, 2.0).parallel().toArray();
+    assertThat(parallel.length, is(100_000));
+    assertArrayEquals(parallel, parallelAgain, 0.0);
+    // Nested splits must not repeat each other's values.
+    assertThat(distribution.uniforms(1 << 20, 0.0, 1.0).parallel().distinct().count(), is(1L << 20));
+    assertThat(distribution.uniforms(100_000L, 0, 10).parallel().average().getAsDouble(),
+        is(closeTo(4.5, 0.05)));
+    assertThat(distribution.uniforms(100_000L, 2.0, 4.0).parallel().average().getAsDouble(),
+        is(closeTo(3.0, 0.01)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStreams_invalidParameter() {
+    instance.exponentials(10L, -1.0);
+  }
+
+  @Test
+  public void testQuantiles() {
+    Random random = new Random(0L);
+    for (int i = 0; i < 1000; i++) {
+      double u = random.nextDouble();
+      assertThat(instance.pareto(1.5), is(RandomDistribution.paretoQuantile(u, 1.5)));
+    }
+    for (int i = 0; i < 1000; i++) {
+      double u = random.nextDouble();
+      assertThat(instance.cauchy(), is(RandomDistribution.cauchyQuantile(u)));
+    }
+    assertThat(RandomDistribution.exponentialQuantile(0.5, 4.0), is(closeTo(Math.log(2) / 4.0, 1e-15)));
+    assertThat(RandomDistribution.exponentialQuantile(0.0, 4.0), is(0.0));
+    assertThat(RandomDistribution.cauchyQuantile(0.75), is(closeTo(1.0, 1e-15)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testQuantiles_invalidP() {
+    RandomDistribution.exponentialQuantile(1.5, 1.0);
   }
 
   private static Matcher<Double> inRangeClosedOpen(double min, double max) {
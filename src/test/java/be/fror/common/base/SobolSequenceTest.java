@@ -0,0 +1,115 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.base;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+/**
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+public class SobolSequenceTest {
+
+  @Test
+  public void next() {
+    // From Joe and Kuo's reference implementation.
+    double[][] expected = {
+      {0.0, 0.0, 0.0},
+      {0.5, 0.5, 0.5},
+      {0.75, 0.25, 0.25},
+      {0.25, 0.75, 0.75},
+      {0.375, 0.375, 0.625},
+      {0.875, 0.875, 0.125},
+      {0.625, 0.125, 0.875},
+      {0.125, 0.625, 0.375}
+    };
+    SobolSequence sequence = new SobolSequence(3);
+    for (double[] point : expected) {
+      assertArrayEquals(point, sequence.next(), 0.0);
+    }
+    assertThat(sequence.index(), is(8L));
+  }
+
+  @Test
+  public void skipTo() {
+    SobolSequence sequential = new SobolSequence(SobolSequence.MAX_DIMENSION);
+    SobolSequence skipping = new SobolSequence(SobolSequence.MAX_DIMENSION);
+    double[] point = new double[SobolSequence.MAX_DIMENSION];
+    for (int i = 0; i < 1000; i++) {
+      sequential.next(point);
+    }
+    skipping.skipTo(1000L);
+    for (int i = 0; i < 10; i++) {
+      assertArrayEquals(sequential.next(), skipping.next(), 0.0);
+    }
+  }
+
+  @Test
+  public void fill() {
+    SobolSequence expected = new SobolSequence(5);
+    double[][] points = new double[100][5];
+    new SobolSequence(5).fill(points);
+    for (double[] point : points) {
+      assertArrayEquals(expected.next(), point, 0.0);
+    }
+  }
+
+  @Test
+  public void stratification() {
+    // Any 2^k first points have exactly one coordinate in each interval [j / 2^k, (j + 1) / 2^k).
+    int n = 1 << 10;
+    SobolSequence sequence = new SobolSequence(50);
+    int[][] counts = new int[50][n];
+    for (int i = 0; i < n; i++) {
+      double[] point = sequence.next();
+      for (int d = 0; d < point.length; d++) {
+        counts[d][(int) (point[d] * n)]++;
+      }
+    }
+    for (int[] count : counts) {
+      for (int c : count) {
+        assertThat(c, is(1));
+      }
+    }
+  }
+
+  @Test
+  public void quasiMonteCarlo() {
+    // The mean of exponential(2) from 2^14 points is within 1e-3 of 1/2.
+    SobolSequence sequence = new SobolSequence(1);
+    int n = 1 << 14;
+    double sum = 0;
+    for (int i = 0; i < n; i++) {
+      sum += RandomDistribution.exponentialQuantile(sequence.next()[0], 2.0);
+    }
+    assertThat(sum / n, is(closeTo(0.5, 1e-3)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void dimension_tooLarge() {
+    new SobolSequence(SobolSequence.MAX_DIMENSION + 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void next_wrongDimension() {
+    new SobolSequence(2).next(new double[3]);
+  }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2015 Olivier Grégoire.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.collection;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import be.fror.common.random.RandomSource;
+import be.fror.common.random.Xoshiro256StarStar;
+
+import com.google.common.collect.Multiset;
+import com.google.common.collect.TreeMultiset;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * @author Olivier Grégoire
+ */
+public class DynamicRandomSelectorTest {
+
+  private static final int RUNS = 1_000_000;
+
+  @Test
+  public void testWeighted_next() {
+    DynamicRandomSelector<String> selector
+        = DynamicRandomSelector.weighted(Arrays.asList("a", "b", "c", "d"), e -> e.equals("c") ? 2d : 1d);
+    Multiset<String> selected = selectNext(selector, new Xoshiro256StarStar(0L));
+    assertThat((double) selected.count("a") / RUNS, is(closeTo(0.2d, 0.01d)));
+    assertThat((double) selected.count("c") / RUNS, is(closeTo(0.4d, 0.01d)));
+  }
+
+  @Test
+  public void testSetWeight() {
+    DynamicRandomSelector<String> selector = DynamicRandomSelector.create();
+    selector.add("a", 1d);
+    selector.add("b", 1d);
+    selector.setWeight("a", 3d);
+    selector.setWeight("c", 4d);
+    assertThat(selector.size(), is(3));
+    assertThat(selector.getWeight("a"), is(3d));
+    Multiset<String> selected = selectNext(selector, new Xoshiro256StarStar(0L));
+    assertThat((double) selected.count("a") / RUNS, is(closeTo(0.375d, 0.01d)));
+    assertThat((double) selected.count("b") / RUNS, is(closeTo(0.125d, 0.01d)));
+    assertThat((double) selected.count("c") / RUNS, is(closeTo(0.5d, 0.01d)));
+
+    selector.setWeight("c", 0d);
+    selected = selectNext(selector, new Xoshiro256StarStar(0L));
+    assertThat(selected.count("c"), is(0));
+    assertThat((double) selected.count("a") / RUNS, is(closeTo(0.75d, 0.01d)));
+  }
+
+  @Test
+  public void testAdd_present() {
+    DynamicRandomSelector<String> selector = DynamicRandomSelector.create();
+    assertThat(selector.add("a", 1d), is(true));
+    assertThat(selector.add("a", 2d), is(false));
+    assertThat(selector.getWeight("a"), is(1d));
+  }
+
+  @Test
+  public void testRemove() {
+    DynamicRandomSelector<Integer> selector = DynamicRandomSelector.create();
+    for (int i = 0; i < 100; i++) {
+      selector.add(i, 1d);
+    }
+    for (int i = 0; i < 100; i += 2) {
+      assertThat(selector.remove(i), is(true));
+    }
+    assertThat(selector.remove(0), is(false));
+    assertThat(selector.size(), is(50));
+    assertThat(selector.getWeight(0), is(0d));
+    RandomSource source = new Xoshiro256StarStar(0L);
+    int[] counts = new int[100];
+    for (int i = 0; i < RUNS; i++) {
+      counts[selector.next(source)]++;
+    }
+    for (int i = 0; i < 100; i++) {
+      assertThat((double) counts[i] / RUNS, is(closeTo(i % 2 == 0 ? 0d : 0.02d, 0.002d)));
+    }
+  }
+
+  @Test
+  public void testManyUpdates() {
+    DynamicRandomSelector<Integer> selector = DynamicRandomSelector.create();
+    RandomSource source = new Xoshiro256StarStar(42L);
+    double[] weights = new double[1000];
+    for (int i = 0; i < 100_000; i++) {
+      int element = source.nextInt(weights.length);
+      weights[element] = source.nextDouble() * 1e6;
+      selector.setWeight(element, weights[element]);
+    }
+    selector.setWeight(0, 1e12);
+    double total = 1e12;
+    for (int i = 1; i < weights.length; i++) {
+      assertThat(selector.getWeight(i), is(weights[i]));
+      total += weights[i];
+    }
+    int zeros = 0;
+    for (int i = 0; i < 100_000; i++) {
+      if (selector.next(source) == 0) {
+        zeros++;
+      }
+    }
+    assertThat((double) zeros / 100_000, is(closeTo(1e12 / total, 0.01d)));
+  }
+
+  @Test
+  public void testConcurrentReadersAndWriters() throws Exception {
+    DynamicRandomSelector<Integer> selector = DynamicRandomSelector.create();
+    for (int i = 0; i < 1000; i++) {
+      selector.add(i, 1d);
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        final long seed = t;
+        futures.add(executor.submit(() -> {
+          RandomSource source = new Xoshiro256StarStar(seed);
+          for (int i = 0; i < 100_000; i++) {
+            if (seed == 0) {
+              selector.setWeight(source.nextInt(2000), 1d + source.nextDouble());
+            } else {
+              selector.next(source);
+            }
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+    assertThat(selector.size() > 1000, is(true));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testNext_empty() {
+    DynamicRandomSelector.create().next(new Xoshiro256StarStar(0L));
+  }
+
+  @Test(expected = IllegalStateException.class, timeout = 10_000L)
+  public void testNext_allWeightsSetToZero() {
+    DynamicRandomSelector<String> selector = DynamicRandomSelector.create();
+    selector.add("a", 0.1d);
+    selector.add("b", 0.2d);
+    selector.add("c", 0.3d);
+    selector.setWeight("a", 0d);
+    selector.setWeight("b", 0d);
+    selector.setWeight("c", 0d);
+    selector.next(new Xoshiro256StarStar(0L));
+  }
+
+  @Test(timeout = 10_000L)
+  public void testNext_weightBelowRoundingErrors() {
+    DynamicRandomSelector<String> selector = DynamicRandomSelector.create();
+    selector.add("a", 0.1d);
+    selector.add("b", 0.2d);
+    selector.add("c", 0.3d);
+    selector.add("d", 1e-300d);
+    selector.setWeight("a", 0d);
+    selector.setWeight("b", 0d);
+    selector.setWeight("c", 0d);
+    assertThat(selector.next(new Xoshiro256StarStar(0L)), is("d"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSetWeight_negative() {
+    DynamicRandomSelector.<String>create().setWeight("a", -1d);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWeighted_duplicates() {
+    DynamicRandomSelector.weighted(Arrays.asList("a", "a"), e -> 1d);
+  }
+
+  private <T extends Comparable<?>> Multiset<T> selectNext(DynamicRandomSelector<T> selector, RandomSource source) {
+    Multiset<T> selected = TreeMultiset.create();
+    for (int i = 0; i < RUNS; i++) {
+      selected.add(selector.next(source));
+    }
+    return selected;
+  }
+}
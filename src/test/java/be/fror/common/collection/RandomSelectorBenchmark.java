@@ -0,0 +1,219 @@
+/*
+ * Copyright 2015 Olivier Grégoire.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.collection;
+
+import be.fror.common.base.AliasTable;
+import be.fror.common.random.MersenneTwister;
+import be.fror.common.random.RandomSource;
+import be.fror.common.random.Xoshiro256StarStar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * Per-selection costs of {@link RandomSelector}:
+ * <ul>
+ * <li><tt>select</tt>: the packed {@link AliasTable}, against the former layout of separate
+ * probability and alias arrays, read with two draws. The largest size needs a heap of about 4 GB.
+ * <li><tt>nextRandom</tt>: {@link RandomSelector#next(Random)}, against <tt>nextSource</tt>, the
+ * baseline of {@link RandomSelector#next(RandomSource)} with a source wrapped once and for all.
+ * </ul>
+ *
+ * @author Olivier Grégoire
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RandomSelectorBenchmark {
+
+  private static final int SELECTIONS = 4096;
+
+  @State(Scope.Thread)
+  public static class Layout {
+
+    @Param({"1000", "1000000", "100000000"})
+    private int size;
+
+    @Param({"packed", "separate"})
+    private String layout;
+
+    private RandomSource source;
+    private ToIntFunction<RandomSource> selection;
+    private int[] indices;
+
+    @Setup
+    public void setUp() {
+      source = new Xoshiro256StarStar(42L);
+      final RandomSource weights = new Xoshiro256StarStar(43L);
+      final double[] w = new double[size];
+      for (int i = 0; i < size; i++) {
+        w[i] = 1d + weights.nextDouble();
+      }
+      selection = layout.equals("packed")
+          ? new AliasTable(w)::sample
+          : new SeparateArraysSelection(w);
+      indices = new int[SELECTIONS];
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Next {
+
+    @Param({"jdk", "mersenne"})
+    private String generator;
+
+    private RandomSelector<Integer> selector;
+    private Random random;
+    private RandomSource source;
+    private Integer[] selected;
+
+    @Setup
+    public void setUp() {
+      final Map<Integer, Double> weights = new HashMap<>();
+      for (int i = 0; i < 1000; i++) {
+        weights.put(i, 1d + (i % 7));
+      }
+      selector = RandomSelector.weighted(weights.keySet(), weights::get);
+      random = generator.equals("jdk")
+          ? new Random(42L)
+          : new MersenneTwister(42L);
+      source = RandomSource.of(random);
+      selected = new Integer[SELECTIONS];
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SELECTIONS)
+  public int[] select(final Layout state) {
+    final ToIntFunction<RandomSource> selection = state.selection;
+    final RandomSource source = state.source;
+    final int[] array = state.indices;
+    for (int i = 0; i < SELECTIONS; i++) {
+      array[i] = selection.applyAsInt(source);
+    }
+    return array;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SELECTIONS)
+  public Integer[] nextRandom(final Next state) {
+    final RandomSelector<Integer> selector = state.selector;
+    final Random random = state.random;
+    final Integer[] array = state.selected;
+    for (int i = 0; i < SELECTIONS; i++) {
+      array[i] = selector.next(random);
+    }
+    return array;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SELECTIONS)
+  public Integer[] nextSource(final Next state) {
+    final RandomSelector<Integer> selector = state.selector;
+    final RandomSource source = state.source;
+    final Integer[] array = state.selected;
+    for (int i = 0; i < SELECTIONS; i++) {
+      array[i] = selector.next(source);
+    }
+    return array;
+  }
+
+  /**
+   * The former implementation: a double[] of probabilities, an int[] of aliases, and two draws.
+   */
+  private static final class SeparateArraysSelection implements ToIntFunction<RandomSource> {
+
+    private final double[] probabilities;
+    private final int[] alias;
+
+    SeparateArraysSelection(final double[] weights) {
+      final int size = weights.length;
+      double sum = 0d;
+      for (final double weight : weights) {
+        sum += weight;
+      }
+      final double[] scaled = new double[size];
+      final int[] small = new int[size];
+      int smallSize = 0;
+      final int[] large = new int[size];
+      int largeSize = 0;
+      for (int i = 0; i < size; i++) {
+        scaled[i] = weights[i] * size / sum;
+        if (scaled[i] < 1d) {
+          small[smallSize++] = i;
+        } else {
+          large[largeSize++] = i;
+        }
+      }
+      probabilities = new double[size];
+      alias = new int[size];
+      while (largeSize != 0 && smallSize != 0) {
+        final int less = small[--smallSize];
+        final int more = large[--largeSize];
+        probabilities[less] = scaled[less];
+        alias[less] = more;
+        scaled[more] += scaled[less] - 1d;
+        if (scaled[more] < 1d) {
+          small[smallSize++] = more;
+        } else {
+          large[largeSize++] = more;
+        }
+      }
+      while (smallSize != 0) {
+        probabilities[small[--smallSize]] = 1d;
+      }
+      while (largeSize != 0) {
+        probabilities[large[--largeSize]] = 1d;
+      }
+    }
+
+    @Override
+    public int applyAsInt(final RandomSource source) {
+      final int column = source.nextInt(probabilities.length);
+      return source.nextDouble() < probabilities[column]
+          ? column
+          : alias[column];
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(RandomSelectorBenchmark.class.getSimpleName())
+        .build()
+    ).run();
+  }
+}
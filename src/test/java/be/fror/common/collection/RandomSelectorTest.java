@@ -21,6 +21,10 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 
+import be.fror.common.random.RandomSource;
+import be.fror.common.random.Xoshiro256StarStar;
+
+import com.google.common.collect.HashMultiset;
 import com.google.common.collect.ImmutableMultiset;
 import com.google.common.collect.Multiset;
 import com.google.common.collect.TreeMultiset;
@@ -32,8 +36,12 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
 
 /**
  *
@@ -96,6 +104,55 @@ public class RandomSelectorTest {
 
   }
 
+  @Test
+  public void testWeighted_next_randomSource() {
+    List<String> elements = Arrays.asList("a", "b", "c", "d");
+    RandomSelector<String> selector = RandomSelector.weighted(elements, e -> e.equals("c") ? 2d : 1d);
+
+    RandomSource source = new Xoshiro256StarStar(0L);
+    Multiset<String> selectedElements = TreeMultiset.create();
+    for (int i = 0; i < 1_000_000; i++) {
+      selectedElements.add(selector.next(source));
+    }
+    assertThat((double) selectedElements.count("c") / 1_000_000, is(closeTo(0.4d, 0.01d)));
+    assertThat((double) selectedElements.count("a") / 1_000_000, is(closeTo(0.2d, 0.01d)));
+
+    Random random = new Random(0L);
+    Random same = new Random(0L);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(selector.next(random), is(equalTo(selector.next(RandomSource.of(same)))));
+    }
+  }
+
+  @Test
+  public void testWeighted_batch() {
+    List<String> elements = Arrays.asList("a", "b", "c", "d");
+    RandomSelector<String> selector = RandomSelector.weighted(elements, e -> e.equals("c") ? 2d : 1d);
+    assertThat(selector.size(), is(4));
+
+    String[] out = new String[1000];
+    selector.next(new Random(0L), out);
+    int[] indices = selector.nextIndices(new Random(0L), 1000);
+    Random random = new Random(0L);
+    for (int i = 0; i < 1000; i++) {
+      String expected = selector.next(random);
+      assertThat(out[i], is(equalTo(expected)));
+      assertThat(selector.get(indices[i]), is(equalTo(expected)));
+    }
+
+    int[] histogram = new int[selector.size()];
+    selector.count(new Xoshiro256StarStar(0L), 1_000_000L, histogram);
+    for (int i = 0; i < histogram.length; i++) {
+      double expectedRatio = selector.get(i).equals("c") ? 0.4d : 0.2d;
+      assertThat((double) histogram[i] / 1_000_000, is(closeTo(expectedRatio, 0.01d)));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCount_wrongHistogram() {
+    RandomSelector.uniform(Arrays.asList("a", "b")).count(new Random(0L), 10L, new int[3]);
+  }
+
   private <T extends Comparable<?>> Multiset<T> selectNext(RandomSelector<T> selector, Random random, int size) {
     Multiset<T> selectedElements = TreeMultiset.create();
     for (int i = 0; i < size; i++) {
@@ -132,4 +189,103 @@ public class RandomSelectorTest {
     assertThat(streamed, is(equalTo(nexted)));
   }
 
+  @Test
+  public void testWeighted_parallelStream() {
+    RandomSelector<String> selector = RandomSelector.weighted(Arrays.asList("a", "b", "c", "d"), e -> e.equals("c") ? 2d : 1d);
+
+    Object[] first = selector.stream(1_000_000, new SplittableRandom(42L)).parallel().toArray();
+    Object[] second = selector.stream(1_000_000, new SplittableRandom(42L)).parallel().toArray();
+
+    assertThat(first.length, is(1_000_000));
+    assertThat(first, is(equalTo(second)));
+    assertThat((double) Arrays.stream(first).filter("c"::equals).count() / first.length, is(closeTo(0.4d, 0.01d)));
+    assertThat(selector.stream(123L, new Xoshiro256StarStar(0L)).parallel().count(), is(123L));
+  }
+
+  @Test
+  public void testUniform_parallelStream_noRepeatedBlocks() {
+    List<Integer> elements = new ArrayList<>();
+    for (int i = 0; i < 1 << 16; i++) {
+      elements.add(i);
+    }
+    RandomSelector<Integer> selector = RandomSelector.uniform(elements);
+    Object[] selected = selector.stream(1 << 20, new Xoshiro256StarStar(42L)).parallel().toArray();
+
+    // Four successive selections make a 64-bit key: repeated substreams would repeat keys.
+    Set<Long> keys = new HashSet<>();
+    for (int i = 0; i < selected.length; i += 4) {
+      long key = 0L;
+      for (int j = 0; j < 4; j++) {
+        key = key << 16 | (Integer) selected[i + j];
+      }
+      keys.add(key);
+    }
+    assertThat(keys.size(), is(selected.length / 4));
+  }
+
+  @Test
+  public void testUniform_sampleWithoutReplacement() {
+    RandomSelector<Integer> selector = RandomSelector.uniform(Arrays.asList(0, 1, 2, 3, 4));
+    RandomSource source = new Xoshiro256StarStar(0L);
+    int[] firsts = new int[5];
+    for (int i = 0; i < 100_000; i++) {
+      List<Integer> sample = selector.sampleWithoutReplacement(source, 5);
+      assertThat(new TreeSet<>(sample), is(equalTo(new TreeSet<>(Arrays.asList(0, 1, 2, 3, 4)))));
+      firsts[sample.get(0)]++;
+    }
+    for (int first : firsts) {
+      assertThat(first / 100_000d, is(closeTo(0.2d, 0.01d)));
+    }
+  }
+
+  @Test
+  public void testWeighted_sampleWithoutReplacement_reservoir() {
+    RandomSelector<String> selector = RandomSelector.weighted(Arrays.asList("a", "b", "c", "d"), e -> e.charAt(0) - 'a' + 1d);
+    Multiset<String> firsts = TreeMultiset.create();
+    Multiset<List<String>> pairs = HashMultiset.create();
+    RandomSource source = new Xoshiro256StarStar(0L);
+    for (int i = 0; i < 100_000; i++) {
+      List<String> sample = selector.sampleWithoutReplacement(source, 2);
+      firsts.add(sample.get(0));
+      pairs.add(sample);
+    }
+    assertThat((double) firsts.count("a") / 100_000, is(closeTo(0.1d, 0.01d)));
+    assertThat((double) firsts.count("d") / 100_000, is(closeTo(0.4d, 0.01d)));
+    assertThat((double) pairs.count(Arrays.asList("d", "c")) / 100_000, is(closeTo(0.4d * 3d / 6d, 0.01d)));
+    assertThat((double) pairs.count(Arrays.asList("a", "b")) / 100_000, is(closeTo(0.1d * 2d / 9d, 0.01d)));
+
+    List<String> all = selector.sampleWithoutReplacement(source, 4);
+    assertThat(new TreeSet<>(all), is(equalTo(new TreeSet<>(Arrays.asList("a", "b", "c", "d")))));
+    assertThat(selector.sampleWithoutReplacement(source, 0).isEmpty(), is(true));
+  }
+
+  @Test
+  public void testWeighted_sampleWithoutReplacement_tree() {
+    List<Integer> elements = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      elements.add(i);
+    }
+    RandomSelector<Integer> selector = RandomSelector.weighted(elements, e -> e == 0 ? 5000d : e == 1 ? 2500d : 1d);
+    Random random = new Random(0L);
+    int firsts = 0;
+    int pairs = 0;
+    for (int i = 0; i < 100_000; i++) {
+      List<Integer> sample = selector.sampleWithoutReplacement(random, 3);
+      assertThat(new TreeSet<>(sample).size(), is(3));
+      if (sample.get(0) == 0) {
+        firsts++;
+        if (sample.get(1) == 1) {
+          pairs++;
+        }
+      }
+    }
+    assertThat(firsts / 100_000d, is(closeTo(5000d / 17498d, 0.01d)));
+    assertThat(pairs / 100_000d, is(closeTo(5000d / 17498d * 2500d / 12498d, 0.01d)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSampleWithoutReplacement_tooMany() {
+    RandomSelector.uniform(Arrays.asList("a", "b")).sampleWithoutReplacement(new Random(0L), 3);
+  }
+
 }
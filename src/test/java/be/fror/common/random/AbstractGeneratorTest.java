@@ -0,0 +1,118 @@
+/*
+ * Copyright 2015 Olivier Grégoire <fror@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ *
+ * @author Olivier Grégoire <fror@users.noreply.github.com>
+ */
+public class AbstractGeneratorTest {
+
+  @Test
+  public void nextInt_bound() {
+    AbstractGenerator random = new Xoshiro256StarStar(42L);
+    int[] counts = new int[6];
+    for (int i = 0; i < 600_000; i++) {
+      int value = random.nextInt(6);
+      assertThat(value, is(allOf(greaterThanOrEqualTo(0), lessThan(6))));
+      counts[value]++;
+    }
+    for (int count : counts) {
+      assertThat(count / 600_000d, is(closeTo(1 / 6d, 0.01)));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nextInt_nonPositiveBound() {
+    new SplitMix64(42L).nextInt(0);
+  }
+
+  @Test
+  public void nextDouble() {
+    AbstractGenerator random = new Pcg32(42L);
+    for (int i = 0; i < 100_000; i++) {
+      assertThat(random.nextDouble(), is(allOf(greaterThanOrEqualTo(0d), lessThan(1d))));
+    }
+  }
+
+  @Test
+  public void bulk() {
+    AbstractGenerator expected = new Xoroshiro128Plus(42L);
+    AbstractGenerator actual = new Xoroshiro128Plus(42L);
+    int[] ints = new int[10];
+    long[] longs = new long[10];
+    double[] doubles = new double[10];
+    actual.nextInts(ints, 1, 8);
+    actual.nextLongs(longs, 1, 8);
+    actual.nextDoubles(doubles, 1, 8);
+    for (int i = 1; i < 9; i++) {
+      assertThat(ints[i], is(equalTo(expected.nextInt())));
+    }
+    for (int i = 1; i < 9; i++) {
+      assertThat(longs[i], is(equalTo(expected.nextLong())));
+    }
+    for (int i = 1; i < 9; i++) {
+      assertThat(doubles[i], is(equalTo(expected.nextDouble())));
+    }
+  }
+
+  @Test
+  public void asRandom() {
+    AbstractGenerator expected = new Pcg32(42L);
+    Random random = new Pcg32(42L).asRandom();
+    assertThat(random.nextInt(), is(equalTo(expected.nextInt())));
+    assertThat(random.nextLong(), is(equalTo(expected.nextLong())));
+    assertThat(random.nextDouble(), is(equalTo(expected.nextDouble())));
+    assertThat(random.nextInt(10), is(equalTo(expected.nextInt(10))));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void asRandom_setSeed() {
+    new SplitMix64(42L).asRandom().setSeed(0L);
+  }
+
+  @Test
+  public void streams() {
+    long[] sequential = new Xoshiro256StarStar(42L).longs(100_000L).toArray();
+    long[] parallel = new Xoshiro256StarStar(42L).longs(100_000L).parallel().toArray();
+    long[] parallelAgain = new Xoshiro256StarStar(42L).longs(100_000L).parallel().toArray();
+    assertThat(sequential.length, is(100_000));
+    assertThat(parallel.length, is(100_000));
+    assertArrayEquals(parallel, parallelAgain);
+
+    // Nested splits must not repeat each other's values.
+    assertThat(new Xoshiro256StarStar(0L).longs(1 << 20).parallel().distinct().count(), is(1L << 20));
+    assertThat(new Xoroshiro128Plus(0L).longs(1 << 20).parallel().distinct().count(), is(1L << 20));
+    assertThat(new Pcg32(0L).longs(1 << 20).parallel().distinct().count(), is(1L << 20));
+
+    assertThat(new Pcg32(42L).ints(1000L).parallel().count(), is(1000L));
+    assertThat(new SplitMix64(42L).doubles(1000L).parallel().average().getAsDouble(),
+        is(closeTo(0.5, 0.05)));
+  }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2015 Olivier Grégoire <fror@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-value cost of the {@link MersenneTwister} single-value and bulk paths. The
+ * <tt>inherited</tt> variants run the implementations of {@link Random} on top of
+ * {@link MersenneTwister#next(int)}, for comparison.
+ *
+ * @author Olivier Grégoire <fror@users.noreply.github.com>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MersenneTwisterBenchmark {
+
+  private static final int SIZE = 4096;
+
+  private static final int BOUND = 1_000_000_007;
+
+  private MersenneTwister random;
+  private Random inherited;
+  private int[] ints;
+  private long[] longs;
+  private double[] doubles;
+  private boolean[] booleans;
+
+  @Setup
+  public void setUp() {
+    random = new MersenneTwister(42L);
+    final MersenneTwister source = new MersenneTwister(42L);
+    inherited = new Random() {
+      @Override
+      protected int next(int bits) {
+        return source.next(bits);
+      }
+    };
+    ints = new int[SIZE];
+    longs = new long[SIZE];
+    doubles = new double[SIZE];
+    booleans = new boolean[SIZE];
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int[] nextInt() {
+    final int[] array = ints;
+    for (int i = 0; i < SIZE; i++) {
+      array[i] = random.nextInt();
+    }
+    return array;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int[] nextInts() {
+    random.nextInts(ints, 0, SIZE);
+    return ints;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public long[] nextLong() {
+    final long[] array = longs;
+    for (int i = 0; i < SIZE; i++) {
+      array[i] = random.nextLong();
+    }
+    return array;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public long[] nextLong_inherited() {
+    final long[] array = longs;
+    for (int i = 0; i < SIZE; i++) {
+      array[i] = inherited.nextLong();
+    }
+    return array;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public long[] nextLongs() {
+    random.nextLongs(longs, 0, SIZE);
+    return longs;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public double[] nextDouble() {
+    final double[] array = doubles;
+    for (int i = 0; i < SIZE; i++) {
+      array[i] = random.nextDouble();
+    }
+    return array;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public double[] nextDouble_inherited() {
+    final double[] array = doubles;
+    for (int i = 0; i < SIZE; i++) {
+      array[i] = inherited.nextDouble();
+    }
+    return array;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public double[] nextDoubles() {
+    random.nextDoubles(doubles, 0, SIZE);
+    return doubles;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int[] nextInt_bound() {
+    final int[] array = ints;
+    for (int i = 0; i < SIZE; i++) {
+      array[i] = random.nextInt(BOUND);
+    }
+    return array;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int[] nextInt_bound_inherited() {
+    final int[] array = ints;
+    for (int i = 0; i < SIZE; i++) {
+      array[i] = inherited.nextInt(BOUND);
+    }
+    return array;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public boolean[] nextBoolean() {
+    final boolean[] array = booleans;
+    for (int i = 0; i < SIZE; i++) {
+      array[i] = random.nextBoolean();
+    }
+    return array;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public boolean[] nextBoolean_inherited() {
+    final boolean[] array = booleans;
+    for (int i = 0; i < SIZE; i++) {
+      array[i] = inherited.nextBoolean();
+    }
+    return array;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public double[] nextGaussian() {
+    final double[] array = doubles;
+    for (int i = 0; i < SIZE; i++) {
+      array[i] = random.nextGaussian();
+    }
+    return array;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public double[] nextGaussian_inherited() {
+    final double[] array = doubles;
+    for (int i = 0; i < SIZE; i++) {
+      array[i] = inherited.nextGaussian();
+    }
+    return array;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(MersenneTwisterBenchmark.class.getSimpleName())
+        .build()
+    ).run();
+  }
+}
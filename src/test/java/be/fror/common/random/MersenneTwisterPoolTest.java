@@ -0,0 +1,72 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+public class MersenneTwisterPoolTest {
+
+  @Test
+  public void threadsGetSuccessiveSplits() throws Exception {
+    MersenneTwisterPool pool = new MersenneTwisterPool(42L);
+    MersenneTwister expected = new MersenneTwister(42L);
+
+    Random random = pool.asRandom();
+    for (int i = 0; i < 2000; i++) {
+      assertThat(random.nextInt(), is(equalTo(expected.nextInt())));
+    }
+    assertThat(pool.current(), is(sameInstance(pool.current())));
+
+    for (int thread = 1; thread <= 2; thread++) {
+      expected = new MersenneTwister(42L);
+      for (int i = 0; i < thread; i++) {
+        expected.jump(128);
+      }
+      int[] actual = nextIntsInNewThread(random, 2000);
+      for (int i = 0; i < actual.length; i++) {
+        assertThat("thread " + thread + ", value " + i, actual[i], is(equalTo(expected.nextInt())));
+      }
+    }
+  }
+
+  private static int[] nextIntsInNewThread(Random random, int count) throws InterruptedException {
+    int[] values = new int[count];
+    Thread thread = new Thread(() -> {
+      for (int i = 0; i < count; i++) {
+        values[i] = random.nextInt();
+      }
+    });
+    thread.start();
+    thread.join();
+    return values;
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void asRandom_setSeed() {
+    new MersenneTwisterPool(42L).asRandom().setSeed(42L);
+  }
+}
@@ -26,6 +26,15 @@ import org.junit.Test;
 
 import static org.junit.Assert.*;
 
+import be.fror.common.io.ByteSink;
+import be.fror.common.io.ByteSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
 /**
  *
  * @author Olivier Grégoire <fror@users.noreply.github.com>
@@ -266,4 +275,210 @@ public class MersenneTwisterTest {
       assertThat(Integer.toString(i), value, is(equalTo(expected[i])));
     }
   }
+
+  @Test
+  public void nextInts() {
+    MersenneTwister expected = new MersenneTwister(42L);
+    MersenneTwister actual = new MersenneTwister(42L);
+    int[] array = new int[2000];
+    actual.nextInts(array, 3, 1500);
+    for (int i = 0; i < array.length; i++) {
+      int value = i < 3 || i >= 1503 ? 0 : expected.nextInt();
+      assertThat(Integer.toString(i), array[i], is(equalTo(value)));
+    }
+    assertThat(actual.nextInt(), is(equalTo(expected.nextInt())));
+  }
+
+  @Test
+  public void nextLongs() {
+    MersenneTwister expected = new MersenneTwister(42L);
+    MersenneTwister actual = new MersenneTwister(42L);
+    // Misalign the blocks so that some longs span two of them.
+    assertThat(actual.nextInt(), is(equalTo(expected.nextInt())));
+    long[] array = new long[1000];
+    actual.nextLongs(array, 0, array.length);
+    for (int i = 0; i < array.length; i++) {
+      assertThat(Integer.toString(i), array[i], is(equalTo(expected.nextLong())));
+    }
+    assertThat(actual.nextInt(), is(equalTo(expected.nextInt())));
+  }
+
+  @Test
+  public void nextDoubles() {
+    MersenneTwister expected = new MersenneTwister(42L);
+    MersenneTwister actual = new MersenneTwister(42L);
+    assertThat(actual.nextInt(), is(equalTo(expected.nextInt())));
+    double[] array = new double[1000];
+    actual.nextDoubles(array, 0, array.length);
+    for (int i = 0; i < array.length; i++) {
+      assertThat(Integer.toString(i), array[i], is(equalTo(expected.nextDouble())));
+    }
+    assertThat(actual.nextInt(), is(equalTo(expected.nextInt())));
+  }
+
+  @Test
+  public void nextBytes_ByteBuffer() {
+    for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+      byte[] expected = new byte[3001];
+      new MersenneTwister(42L).nextBytes(expected);
+      ByteBuffer actual = ByteBuffer.allocate(expected.length).order(order);
+      new MersenneTwister(42L).nextBytes(actual);
+      assertThat(actual.hasRemaining(), is(false));
+      assertArrayEquals(order.toString(), expected, actual.array());
+    }
+  }
+
+  @Test
+  public void derivedMethods_sameAsRandom() {
+    MersenneTwister source = new MersenneTwister(42L);
+    Random expected = new Random() {
+      @Override
+      protected int next(int bits) {
+        return source.next(bits);
+      }
+    };
+    MersenneTwister actual = new MersenneTwister(42L);
+    // Go through the block boundaries with all the two-output methods.
+    for (int i = 0; i < 1000; i++) {
+      assertThat(actual.nextInt(), is(equalTo(expected.nextInt())));
+      assertThat(actual.nextLong(), is(equalTo(expected.nextLong())));
+      assertThat(actual.nextDouble(), is(equalTo(expected.nextDouble())));
+      assertThat(actual.nextGaussian(), is(equalTo(expected.nextGaussian())));
+    }
+    byte[] expectedBytes = new byte[1001];
+    expected.nextBytes(expectedBytes);
+    byte[] actualBytes = new byte[1001];
+    actual.nextBytes(actualBytes);
+    assertArrayEquals(expectedBytes, actualBytes);
+  }
+
+  @Test
+  public void nextInt_bound() {
+    MersenneTwister random = new MersenneTwister(42L);
+    for (int bound : new int[]{1, 2, 3, 7, 1 << 20, (1 << 30) + 1, Integer.MAX_VALUE}) {
+      for (int i = 0; i < 1000; i++) {
+        int value = random.nextInt(bound);
+        assertTrue(value >= 0 && value < bound);
+      }
+    }
+    int[] counts = new int[6];
+    for (int i = 0; i < 60000; i++) {
+      counts[random.nextInt(6)]++;
+    }
+    for (int count : counts) {
+      assertTrue(Integer.toString(count), count > 9500 && count < 10500);
+    }
+  }
+
+  @Test
+  public void nextBoolean() {
+    MersenneTwister expected = new MersenneTwister(42L);
+    MersenneTwister actual = new MersenneTwister(42L);
+    for (int i = 0; i < 10; i++) {
+      int bits = expected.nextInt();
+      for (int bit = 31; bit >= 0; bit--) {
+        assertThat(actual.nextBoolean(), is(equalTo(((bits >>> bit) & 1) == 1)));
+      }
+    }
+    actual.nextBoolean();
+    actual.setSeed(42L);
+    assertThat(actual.nextBoolean(), is(equalTo(new MersenneTwister(42L).nextInt() < 0)));
+  }
+
+  @Test
+  public void jump() {
+    for (int draws : new int[]{0, 1, 300, 623, 624, 1000}) {
+      for (int log2Steps : new int[]{0, 1, 9, 10, 15, 20}) {
+        MersenneTwister expected = new MersenneTwister(42L);
+        MersenneTwister actual = new MersenneTwister(42L);
+        for (int i = 0; i < draws; i++) {
+          assertThat(actual.nextInt(), is(equalTo(expected.nextInt())));
+        }
+        for (int i = 0; i < 1 << log2Steps; i++) {
+          expected.nextInt();
+        }
+        actual.jump(log2Steps);
+        String message = draws + " draws, jump 2^" + log2Steps;
+        for (int i = 0; i < 2000; i++) {
+          assertThat(message, actual.nextInt(), is(equalTo(expected.nextInt())));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void jump_precomputed() {
+    assertArrayEquals(
+        BinaryPolynomials.xPowerOfTwoModulo(128, MersenneTwister.Characteristic.POLYNOMIAL),
+        MersenneTwisterJumps.JUMP_128);
+  }
+
+  @Test
+  public void split() {
+    MersenneTwister actual = new MersenneTwister(42L);
+    MersenneTwister expected = new MersenneTwister(42L);
+    actual.nextInt();
+    expected.nextInt();
+
+    MersenneTwister split = actual.split();
+    int[] seed = new int[8];
+    for (int i = 0; i < seed.length; i++) {
+      seed[i] = expected.nextInt();
+    }
+    MersenneTwister seeded = new MersenneTwister(seed);
+    for (int i = 0; i < 2000; i++) {
+      assertThat(split.nextInt(), is(equalTo(seeded.nextInt())));
+      assertThat(actual.nextInt(), is(equalTo(expected.nextInt())));
+    }
+  }
+
+  @Test
+  public void split_jump() {
+    MersenneTwister actual = new MersenneTwister(42L);
+    MersenneTwister expected = new MersenneTwister(42L);
+    actual.nextInt();
+    expected.nextInt();
+
+    MersenneTwister split = actual.split(10);
+    for (int i = 0; i < 1 << 10; i++) {
+      assertThat(split.nextInt(), is(equalTo(expected.nextInt())));
+    }
+    for (int i = 0; i < 2000; i++) {
+      assertThat(actual.nextInt(), is(equalTo(expected.nextInt())));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void split_negativeJump() {
+    new MersenneTwister(42L).split(-1);
+  }
+
+  @Test
+  public void saveState_restoreState() {
+    MersenneTwister random = new MersenneTwister(42L);
+    for (int i = 0; i < 1001; i++) {
+      random.nextInt();
+    }
+    random.nextGaussian();
+    random.nextBoolean();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    random.saveState(new ByteSink() {
+      @Override
+      protected OutputStream doOpenStream() {
+        return bytes;
+      }
+    });
+    MersenneTwister restored = new MersenneTwister(7L);
+    restored.restoreState(ByteSource.wrap(bytes.toByteArray()));
+    assertThat(restored.nextGaussian(), is(equalTo(random.nextGaussian())));
+    for (int i = 0; i < 1000; i++) {
+      assertThat(restored.nextBoolean(), is(equalTo(random.nextBoolean())));
+      assertThat(restored.nextInt(), is(equalTo(random.nextInt())));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void restoreState_otherGenerator() {
+    new MersenneTwister(42L).restoreState(new MersenneTwister64(42L).saveState());
+  }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015 Olivier Grégoire <fror@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+/**
+ *
+ * @author Olivier Grégoire <fror@users.noreply.github.com>
+ */
+public class Pcg32Test {
+
+  @Test
+  public void correctness() {
+    int[] expected = {0xa15c02b7, 0x7b47f409, 0xba1d3330, 0x83d2f293, 0xbfa4784b, 0xcbed606e};
+
+    Pcg32 random = new Pcg32(42L, 54L);
+    for (int i = 0; i < expected.length; i++) {
+      assertThat(Integer.toString(i), random.nextInt(), is(equalTo(expected[i])));
+    }
+  }
+
+  @Test
+  public void advance() {
+    Pcg32 expected = new Pcg32(42L, 54L);
+    Pcg32 actual = new Pcg32(42L, 54L);
+    for (int i = 0; i < 12345; i++) {
+      expected.nextInt();
+    }
+    actual.advance(12345L);
+    assertThat(actual.nextInt(), is(equalTo(expected.nextInt())));
+    actual.advance(-12346L);
+    assertThat(actual.nextInt(), is(equalTo(0xa15c02b7)));
+  }
+
+  @Test
+  public void saveState_restoreState() {
+    Pcg32 random = new Pcg32(42L, 54L);
+    for (int i = 0; i < 1000; i++) {
+      random.nextLong();
+    }
+    byte[] state = random.saveState();
+    Pcg32 restored = new Pcg32(7L);
+    restored.restoreState(state);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(restored.nextLong(), is(equalTo(random.nextLong())));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void restoreState_evenIncrement() {
+    byte[] state = new Pcg32(42L, 54L).saveState();
+    // The increment is the last long of the state: clears its lowest bit.
+    state[state.length - 1] &= ~1;
+    new Pcg32(7L).restoreState(state);
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+/**
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+public class Philox4x32Test {
+
+  /**
+   * Known-answer tests of the Random123 distribution.
+   */
+  @Test
+  public void correctness() {
+    assertBlock(0L, 0L, 0L, 0x6627e8d5, 0xe169c58d, 0xbc57ac4c, 0x9b00dbd8);
+    assertBlock(-1L, -1L, -1L, 0x408f276d, 0x41c83b0e, 0xa20bc7c6, 0x6d5451fd);
+    assertBlock(0x299f31d0a4093822L, 0x0370734413198a2eL, 0x85a308d3243f6a88L,
+        0xd16cfe09, 0x94fdcceb, 0x5001e420, 0x24126ea1);
+  }
+
+  private static void assertBlock(long seed, long stream, long block, int... expected) {
+    int[] actual = new int[4];
+    new Philox4x32(seed, stream).block(block, actual);
+    for (int i = 0; i < expected.length; i++) {
+      assertThat(Integer.toString(i), actual[i], is(equalTo(expected[i])));
+    }
+  }
+
+  @Test
+  public void randomAccess() {
+    Philox4x32 random = new Philox4x32(42L, 54L);
+    Philox4x32 other = new Philox4x32(42L, 54L);
+    for (long i = 0; i < 1000; i++) {
+      long value = random.nextLong();
+      assertThat(Long.toString(i), other.valueAt(i), is(equalTo(value)));
+      assertThat(Long.toString(i), other.doubleAt(i), is(equalTo((value >>> 11) * 0x1.0p-53)));
+    }
+    other.advance(2000L);
+    assertThat(other.nextLong(), is(equalTo(random.nextLong())));
+    assertThat(other.intAt(6L), is(equalTo((int) (random.valueAt(3L) >>> 32))));
+    other.advance(-2L);
+    assertThat(other.nextLong(), is(equalTo(random.valueAt(1000L))));
+  }
+
+  @Test
+  public void saveState_restoreState() {
+    Philox4x32 random = new Philox4x32(42L, 54L);
+    for (int i = 0; i < 1001; i++) {
+      random.nextInt();
+    }
+    byte[] state = random.saveState();
+    Philox4x32 restored = new Philox4x32(7L);
+    restored.restoreState(state);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(restored.nextLong(), is(equalTo(random.nextLong())));
+    }
+  }
+}
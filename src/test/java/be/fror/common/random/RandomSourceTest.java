@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015 Olivier Grégoire <ogregoire@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ *
+ * @author Olivier Grégoire <ogregoire@users.noreply.github.com>
+ */
+public class RandomSourceTest {
+
+  @Test
+  public void of_sameValuesAsRandom() {
+    Random expected = new Random(42L);
+    RandomSource actual = RandomSource.of(new Random(42L));
+    for (int i = 0; i < 1000; i++) {
+      assertThat(actual.nextInt(), is(equalTo(expected.nextInt())));
+      assertThat(actual.nextInt(7), is(equalTo(expected.nextInt(7))));
+      assertThat(actual.nextLong(), is(equalTo(expected.nextLong())));
+      assertThat(actual.nextDouble(), is(equalTo(expected.nextDouble())));
+      assertThat(actual.nextBoolean(), is(equalTo(expected.nextBoolean())));
+    }
+  }
+
+  @Test
+  public void of_randomSource() {
+    Random random = new SplitMix64(42L).asRandom();
+    assertThat(RandomSource.of(random), is(sameInstance((Object) random)));
+  }
+
+  @Test
+  public void of_mersenneTwister() {
+    Random random = new MersenneTwister(42L);
+    assertThat(RandomSource.of(random), is(sameInstance((Object) random)));
+    Random pooled = new MersenneTwisterPool(42L).asRandom();
+    assertThat(RandomSource.of(pooled), is(sameInstance((Object) pooled)));
+  }
+
+  @Test
+  public void intStream_notSplittable() {
+    Random expected = new Random(42L);
+    int[] values = RandomSource.intStream(RandomSource.of(new Random(42L)), 1000L, s -> () -> s.nextInt(10))
+        .parallel()
+        .toArray();
+    assertThat(values.length, is(1000));
+    for (int value : values) {
+      assertThat(value, is(equalTo(expected.nextInt(10))));
+    }
+  }
+
+  @Test
+  public void doubleStream_splittable() {
+    double[] values = RandomSource.doubleStream(SplittableRandomSource.of(new SplittableRandom(42L)), 1 << 16, s -> s::nextDouble)
+        .parallel()
+        .toArray();
+    assertThat(values.length, is(1 << 16));
+    assertThat(Arrays.stream(values).distinct().count(), is(1L << 16));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void of_null() {
+    RandomSource.of(null);
+  }
+}
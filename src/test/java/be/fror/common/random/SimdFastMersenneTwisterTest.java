@@ -0,0 +1,554 @@
+/*
+ * Copyright 2015 Olivier Grégoire <fror@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ *
+ * @author Olivier Grégoire <fror@users.noreply.github.com>
+ */
+public class SimdFastMersenneTwisterTest {
+
+  public SimdFastMersenneTwisterTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @AfterClass
+  public static void tearDownClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  /**
+   * Test of next method, of class SimdFastMersenneTwister, seeded with an int.
+   */
+  @Test
+  public void correctness_seed() {
+    long[] expected = {
+      3440181298L, 1564997079L, 1510669302L, 2930277156L, 1452439940L,
+      3796268453L, 423124208L, 2143818589L, 3827219408L, 2987036003L,
+      2674978610L, 1536842514L, 2027035537L, 2534897563L, 1686527725L,
+      545368292L, 1489013321L, 1370534252L, 4231012796L, 3994803019L,
+      1764869045L, 824597505L, 862581900L, 2469764249L, 812862514L,
+      359318673L, 116957936L, 3367389672L, 2327178354L, 1898245200L,
+      3206507879L, 2378925033L, 1040214787L, 2524778605L, 3088428700L,
+      1417665896L, 964324147L, 2282797708L, 2456269299L, 313400376L,
+      2245093271L, 1015729427L, 2694465011L, 3246975184L, 1992793635L,
+      463679346L, 3721104591L, 3475064196L, 856141236L, 1499559719L,
+      3522818941L, 3721533109L, 1954826617L, 1282044024L, 1543279136L,
+      1301863085L, 2669145051L, 4221477354L, 3896016841L, 3392740262L,
+      462466863L, 1037679449L, 1228140306L, 922298197L, 1205109853L,
+      1872938061L, 3102547608L, 2742766808L, 1888626088L, 4028039414L,
+      157593879L, 1136901695L, 4038377686L, 3572517236L, 4231706728L,
+      2997311961L, 1189931652L, 3981543765L, 2826166703L, 87159245L,
+      1721379072L, 3897926942L, 1790395498L, 2569178939L, 1047368729L,
+      2340259131L, 3144212906L, 2301169789L, 2442885464L, 3034046771L,
+      3667880593L, 3935928400L, 2372805237L, 1666397115L, 2460584504L,
+      513866770L, 3810869743L, 2147400037L, 2792078025L, 2941761810L,
+      3212265810L, 984692259L, 346590253L, 1804179199L, 3298543443L,
+      750108141L, 2880257022L, 243310542L, 1869036465L, 1588062513L,
+      2983949551L, 1931450364L, 4034505847L, 2735030199L, 1628461061L,
+      2539522841L, 127965585L, 3992448871L, 913388237L, 559130076L,
+      1202933193L, 4087643167L, 2590021067L, 2256240196L, 1746697293L,
+      1013913783L, 1155864921L, 2715773730L, 915061862L, 1948766573L,
+      2322882854L, 3761119102L, 1343405684L, 3078711943L, 3067431651L,
+      3245156316L, 3588354584L, 3484623306L, 3899621563L, 4156689741L,
+      3237090058L, 3880063844L, 862416318L, 4039923869L, 2303788317L,
+      3073590536L, 701653667L, 2131530884L, 3169309950L, 2028486980L,
+      747196777L, 3620218225L, 432016035L, 1449580595L, 2772266392L,
+      444224948L, 1662832057L, 3184055582L, 3028331792L, 1861686254L,
+      1104864179L, 342430307L, 1350510923L, 3024656237L, 1028417492L,
+      2870772950L, 290847558L, 3675663500L, 508431529L, 4264340390L,
+      2263569913L, 1669302976L, 519511383L, 2706411211L, 3764615828L,
+      3883162495L, 4051445305L, 2412729798L, 3299405164L, 3991911166L,
+      2348767304L, 2664054906L, 3763609282L, 593943581L, 3757090046L,
+      2075338894L, 2020550814L, 4287452920L, 4290140003L, 1422957317L,
+      2512716667L, 2003485045L, 2307520103L, 2288472169L, 3940751663L,
+      4204638664L, 2892583423L, 1710068300L, 3904755993L, 2363243951L,
+      3038334120L, 547099465L, 771105860L, 3199983734L, 4282046461L,
+      2298388363L, 934810218L, 2837827901L, 3952500708L, 2095130248L,
+      3083335297L, 26885281L, 3932155283L, 1531751116L, 1425227133L,
+      495654159L, 3279634176L, 3855562207L, 3957195338L, 4159985527L,
+      893375062L, 1875515536L, 1327247422L, 3754140693L, 1028923197L,
+      1729880440L, 805571298L, 448971099L, 2726757106L, 2749436461L,
+      2485987104L, 175337042L, 3235477922L, 3882114302L, 2020970972L,
+      943926109L, 2762587195L, 1904195558L, 3452650564L, 108432281L,
+      3893463573L, 3977583081L, 2636504348L, 1110673525L, 3548479841L,
+      4258854744L, 980047703L, 4057175418L, 3890008292L, 145653646L,
+      3141868989L, 3293216228L, 1194331837L, 1254570642L, 3049934521L,
+      2868313360L, 2886032750L, 1110873820L, 279553524L, 3007258565L,
+      1104807822L, 3186961098L, 315764646L, 2163680838L, 3574508994L,
+      3099755655L, 191957684L, 3642656737L, 3317946149L, 3522087636L,
+      444526410L, 779157624L, 1088229627L, 1092460223L, 1856013765L,
+      3659877367L, 368270451L, 503570716L, 3000984671L, 2742789647L,
+      928097709L, 2914109539L, 308843566L, 2816161253L, 3667192079L,
+      2762679057L, 3395240989L, 2928925038L, 1491465914L, 3458702834L,
+      3787782576L, 2894104823L, 1296880455L, 1253636503L, 989959407L,
+      2291560361L, 2776790436L, 1913178042L, 1584677829L, 689637520L,
+      1898406878L, 688391508L, 3385234998L, 845493284L, 1943591856L,
+      2720472050L, 222695101L, 1653320868L, 2904632120L, 4084936008L,
+      1080720688L, 3938032556L, 387896427L, 2650839632L, 99042991L,
+      1720913794L, 1047186003L, 1877048040L, 2090457659L, 517087501L,
+      4172014665L, 2129713163L, 2413533132L, 2760285054L, 4129272496L,
+      1317737175L, 2309566414L, 2228873332L, 3889671280L, 1110864630L,
+      3576797776L, 2074552772L, 832002644L, 3097122623L, 2464859298L,
+      2679603822L, 1667489885L, 3237652716L, 1478413938L, 1719340335L,
+      2306631119L, 639727358L, 3369698270L, 226902796L, 2099920751L,
+      1892289957L, 2201594097L, 3508197013L, 3495811856L, 3900381493L,
+      841660320L, 3974501451L, 3360949056L, 1676829340L, 728899254L,
+      2047809627L, 2390948962L, 670165943L, 3412951831L, 4189320049L,
+      1911595255L, 2055363086L, 507170575L, 418219594L, 4141495280L,
+      2692088692L, 4203630654L, 3540093932L, 791986533L, 2237921051L,
+      2526864324L, 2956616642L, 1394958700L, 1983768223L, 1893373266L,
+      591653646L, 228432437L, 1611046598L, 3007736357L, 1040040725L,
+      2726180733L, 2789804360L, 4263568405L, 829098158L, 3847722805L,
+      1123578029L, 1804276347L, 997971319L, 4203797076L, 4185199713L,
+      2811733626L, 2343642194L, 2985262313L, 1417930827L, 3759587724L,
+      1967077982L, 1585223204L, 1097475516L, 1903944948L, 740382444L,
+      1114142065L, 1541796065L, 1718384172L, 1544076191L, 1134682254L,
+      3519754455L, 2866243923L, 341865437L, 645498576L, 2690735853L,
+      1046963033L, 2493178460L, 1187604696L, 1619577821L, 488503634L,
+      3255768161L, 2306666149L, 1630514044L, 2377698367L, 2751503746L,
+      3794467088L, 1796415981L, 3657173746L, 409136296L, 1387122342L,
+      1297726519L, 219544855L, 4270285558L, 437578827L, 1444698679L,
+      2258519491L, 963109892L, 3982244073L, 3351535275L, 385328496L,
+      1804784013L, 698059346L, 3920535147L, 708331212L, 784338163L,
+      785678147L, 1238376158L, 1557298846L, 2037809321L, 271576218L,
+      4145155269L, 1913481602L, 2763691931L, 588981080L, 1201098051L,
+      3717640232L, 1509206239L, 662536967L, 3180523616L, 1133105435L,
+      2963500837L, 2253971215L, 3153642623L, 1066925709L, 2582781958L,
+      3034720222L, 1090798544L, 2942170004L, 4036187520L, 686972531L,
+      2610990302L, 2641437026L, 1837562420L, 722096247L, 1315333033L,
+      2102231203L, 3402389208L, 3403698140L, 1312402831L, 2898426558L,
+      814384596L, 385649582L, 1916643285L, 1924625106L, 2512905582L,
+      2501170304L, 4275223366L, 2841225246L, 1467663688L, 3563567847L,
+      2969208552L, 884750901L, 102992576L, 227844301L, 3681442994L,
+      3502881894L, 4034693299L, 1166727018L, 1697460687L, 1737778332L,
+      1787161139L, 1053003655L, 1215024478L, 2791616766L, 2525841204L,
+      1629323443L, 3233815L, 2003823032L, 3083834263L, 2379264872L,
+      3752392312L, 1287475550L, 3770904171L, 3004244617L, 1502117784L,
+      918698423L, 2419857538L, 3864502062L, 1751322107L, 2188775056L,
+      4018728324L, 983712955L, 440071928L, 3710838677L, 2001027698L,
+      3994702151L, 22493119L, 3584400918L, 3446253670L, 4254789085L,
+      1405447860L, 1240245579L, 1800644159L, 1661363424L, 3278326132L,
+      3403623451L, 67092802L, 2609352193L, 3914150340L, 1814842761L,
+      3610830847L, 591531412L, 3880232807L, 1673505890L, 2585326991L,
+      1678544474L, 3148435887L, 3457217359L, 1193226330L, 2816576908L,
+      154025329L, 121678860L, 1164915738L, 973873761L, 269116100L,
+      52087970L, 744015362L, 498556057L, 94298882L, 1563271621L,
+      2383059628L, 4197367290L, 3958472990L, 2592083636L, 2906408439L,
+      1097742433L, 3924840517L, 264557272L, 2292287003L, 3203307984L,
+      4047038857L, 3820609705L, 2333416067L, 1839206046L, 3600944252L,
+      3412254904L, 583538222L, 2390557166L, 4140459427L, 2810357445L,
+      226777499L, 2496151295L, 2207301712L, 3283683112L, 611630281L,
+      1933218215L, 3315610954L, 3889441987L, 3719454256L, 3957190521L,
+      1313998161L, 2365383016L, 3146941060L, 1801206260L, 796124080L,
+      2076248581L, 1747472464L, 3254365145L, 595543130L, 3573909503L,
+      3758250204L, 2020768540L, 2439254210L, 93368951L, 3155792250L,
+      2600232980L, 3709198295L, 3894900440L, 2971850836L, 1578909644L,
+      1443493395L, 2581621665L, 3086506297L, 2443465861L, 558107211L,
+      1519367835L, 249149686L, 908102264L, 2588765675L, 1232743965L,
+      1001330373L, 3561331654L, 2259301289L, 1564977624L, 3835077093L,
+      727244906L, 4255738067L, 1214133513L, 2570786021L, 3899704621L,
+      1633861986L, 1636979509L, 1438500431L, 58463278L, 2823485629L,
+      2297430187L, 2926781924L, 3371352948L, 1864009023L, 2722267973L,
+      1444292075L, 437703973L, 1060414512L, 189705863L, 910018135L,
+      4077357964L, 884213423L, 2644986052L, 3973488374L, 1187906116L,
+      2331207875L, 780463700L, 3713351662L, 3854611290L, 412805574L,
+      2978462572L, 2176222820L, 829424696L, 2790788332L, 2750819108L,
+      1594611657L, 3899878394L, 3032870364L, 1702887682L, 1948167778L,
+      14130042L, 192292500L, 947227076L, 90719497L, 3854230320L,
+      784028434L, 2142399787L, 1563449646L, 2844400217L, 819143172L,
+      2883302356L, 2328055304L, 1328532246L, 2603885363L, 3375188924L,
+      933941291L, 3627039714L, 2129697284L, 2167253953L, 2506905438L,
+      1412424497L, 2981395985L, 1418359660L, 2925902456L, 52752784L,
+      3713667988L, 3924669405L, 648975707L, 1145520213L, 4018650664L,
+      3805915440L, 2380542088L, 2013260958L, 3262572197L, 2465078101L,
+      1114540067L, 3728768081L, 2396958768L, 590672271L, 904818725L,
+      4263660715L, 700754408L, 1042601829L, 4094111823L, 4274838909L,
+      2512692617L, 2774300207L, 2057306915L, 3470942453L, 99333088L,
+      1142661026L, 2889931380L, 14316674L, 2201179167L, 415289459L,
+      448265759L, 3515142743L, 3254903683L, 246633281L, 1184307224L,
+      2418347830L, 2092967314L, 2682072314L, 2558750234L, 2000352263L,
+      1544150531L, 399010405L, 1513946097L, 499682937L, 461167460L,
+      3045570638L, 1633669705L, 851492362L, 4052801922L, 2055266765L,
+      635556996L, 368266356L, 2385737383L, 3218202352L, 2603772408L,
+      349178792L, 226482567L, 3102426060L, 3575998268L, 2103001871L,
+      3243137071L, 225500688L, 1634718593L, 4283311431L, 4292122923L,
+      3842802787L, 811735523L, 105712518L, 663434053L, 1855889273L,
+      2847972595L, 1196355421L, 2552150115L, 4254510614L, 3752181265L,
+      3430721819L, 3828705396L, 3436287905L, 3441964937L, 4123670631L,
+      353001539L, 459496439L, 3799690868L, 1293777660L, 2761079737L,
+      498096339L, 3398433374L, 4080378380L, 2304691596L, 2995729055L,
+      4134660419L, 3903444024L, 3576494993L, 203682175L, 3321164857L,
+      2747963611L, 79749085L, 2992890370L, 1240278549L, 1772175713L,
+      2111331972L, 2655023449L, 1683896345L, 2836027212L, 3482868021L,
+      2489884874L, 756853961L, 2298874501L, 4013448667L, 4143996022L,
+      2948306858L, 4132920035L, 1283299272L, 995592228L, 3450508595L,
+      1027845759L, 1766942720L, 3861411826L, 1446861231L, 95974993L,
+      3502263554L, 1487532194L, 601502472L, 4129619129L, 250131773L,
+      2050079547L, 3198903947L, 3105589778L, 4066481316L, 3026383978L,
+      2276901713L, 365637751L, 2260718426L, 1394775634L, 1791172338L,
+      2690503163L, 2952737846L, 1568710462L, 732623190L, 2980358000L,
+      1053631832L, 1432426951L, 3229149635L, 1854113985L, 3719733532L,
+      3204031934L, 735775531L, 107468620L, 3734611984L, 631009402L,
+      3083622457L, 4109580626L, 159373458L, 1301970201L, 4132389302L,
+      1293255004L, 847182752L, 4170022737L, 96712900L, 2641406755L,
+      1381727755L, 405608287L, 4287919625L, 1703554290L, 3589580244L,
+      2911403488L, 2166565L, 2647306451L, 2330535117L, 1200815358L,
+      1165916754L, 245060911L, 4040679071L, 3684908771L, 2452834126L,
+      2486872773L, 2318678365L, 2940627908L, 1837837240L, 3447897409L,
+      4270484676L, 1495388728L, 3754288477L, 4204167884L, 1386977705L,
+      2692224733L, 3076249689L, 4109568048L, 4170955115L, 4167531356L,
+      4020189950L, 4261855038L, 3036907575L, 3410399885L, 3076395737L,
+      1046178638L, 144496770L, 230725846L, 3349637149L, 17065717L,
+      2809932048L, 2054581785L, 3608424964L, 3259628808L, 134897388L,
+      3743067463L, 257685904L, 3795656590L, 1562468719L, 3589103904L,
+      3120404710L, 254684547L, 2653661580L, 3663904795L, 2631942758L,
+      1063234347L, 2609732900L, 2332080715L, 3521125233L, 1180599599L,
+      1935868586L, 4110970440L, 296706371L, 2128666368L, 1319875791L,
+      1570900197L, 3096025483L, 1799882517L, 1928302007L, 1163707758L,
+      1244491489L, 3533770203L, 567496053L, 2757924305L, 2781639343L,
+      2818420107L, 560404889L, 2619609724L, 4176035430L, 2511289753L,
+      2521842019L, 3910553502L, 2926149387L, 3302078172L, 4237118867L,
+      330725126L, 367400677L, 888239854L, 545570454L, 4259590525L,
+      134343617L, 1102169784L, 1647463719L, 3260979784L, 1518840883L,
+      3631537963L, 3342671457L, 1301549147L, 2083739356L, 146593792L,
+      3217959080L, 652755743L, 2032187193L, 3898758414L, 1021358093L,
+      4037409230L, 2176407931L, 3427391950L, 2883553603L, 985613827L,
+      3105265092L, 3423168427L, 3387507672L, 467170288L, 2141266163L,
+      3723870208L, 916410914L, 1293987799L, 2652584950L, 769160137L,
+      3205292896L, 1561287359L, 1684510084L, 3136055621L, 3765171391L,
+      639683232L, 2639569327L, 1218546948L, 4263586685L, 3058215773L,
+      2352279820L, 401870217L, 2625822463L, 1529125296L, 2981801895L,
+      1191285226L, 4027725437L, 3432700217L, 4098835661L, 971182783L,
+      2443861173L, 3881457123L, 3874386651L, 457276199L, 2638294160L,
+      4002809368L, 421169044L, 1112642589L, 3076213779L, 3387033971L,
+      2499610950L, 3057240914L, 1662679783L, 461224431L, 1168395933L};
+
+    SimdFastMersenneTwister sfmt = new SimdFastMersenneTwister(1234L);
+    assertOutputs(sfmt, expected);
+  }
+
+  /**
+   * Test of next method, of class SimdFastMersenneTwister, seeded with an array.
+   */
+  @Test
+  public void correctness_array() {
+    long[] expected = {
+      2920711183L, 3885745737L, 3501893680L, 856470934L, 1421864068L,
+      277361036L, 1518638004L, 2328404353L, 3355513634L, 64329189L,
+      1624587673L, 3508467182L, 2481792141L, 3706480799L, 1925859037L,
+      2913275699L, 882658412L, 384641219L, 422202002L, 1873384891L,
+      2006084383L, 3924929912L, 1636718106L, 3108838742L, 1245465724L,
+      4195470535L, 779207191L, 1577721373L, 1390469554L, 2928648150L,
+      121399709L, 3170839019L, 4044347501L, 953953814L, 3821710850L,
+      3085591323L, 3666535579L, 3577837737L, 2012008410L, 3565417471L,
+      4044408017L, 433600965L, 1637785608L, 1798509764L, 860770589L,
+      3081466273L, 3982393409L, 2451928325L, 3437124742L, 4093828739L,
+      3357389386L, 2154596123L, 496568176L, 2650035164L, 2472361850L,
+      3438299L, 2150366101L, 1577256676L, 3802546413L, 1787774626L,
+      4078331588L, 3706103141L, 170391138L, 3806085154L, 1680970100L,
+      1961637521L, 3316029766L, 890610272L, 1453751581L, 1430283664L,
+      3051057411L, 3597003186L, 542563954L, 3796490244L, 1690016688L,
+      3448752238L, 440702173L, 347290497L, 1121336647L, 2540588620L,
+      280881896L, 2495136428L, 213707396L, 15104824L, 2946180358L,
+      659000016L, 566379385L, 2614030979L, 2855760170L, 334526548L,
+      2315569495L, 2729518615L, 564745877L, 1263517638L, 3157185798L,
+      1604852056L, 1011639885L, 2950579535L, 2524219188L, 312951012L,
+      1528896652L, 1327861054L, 2846910138L, 3966855905L, 2536721582L,
+      855353911L, 1685434729L, 3303978929L, 1624872055L, 4020329649L,
+      3164802143L, 1642802700L, 1957727869L, 1792352426L, 3334618929L,
+      2631577923L, 3027156164L, 842334259L, 3353446843L, 1226432104L,
+      1742801369L, 3552852535L, 3471698828L, 1653910186L, 3380330939L,
+      2313782701L, 3351007196L, 2129839995L, 1800682418L, 4085884420L,
+      1625156629L, 3669701987L, 615211810L, 3294791649L, 4131143784L,
+      2590843588L, 3207422808L, 3275066464L, 561592872L, 3957205738L,
+      3396578098L, 48410678L, 3505556445L, 1005764855L, 3920606528L,
+      2936980473L, 2378918600L, 2404449845L, 1649515163L, 701203563L,
+      3705256349L, 83714199L, 3586854132L, 922978446L, 2863406304L,
+      3523398907L, 2606864832L, 2385399361L, 3171757816L, 4262841009L,
+      3645837721L, 1169579486L, 3666433897L, 3174689479L, 1457866976L,
+      3803895110L, 3346639145L, 1907224409L, 1978473712L, 1036712794L,
+      980754888L, 1302782359L, 1765252468L, 459245755L, 3728923860L,
+      1512894209L, 2046491914L, 207860527L, 514188684L, 2288713615L,
+      1597354672L, 3349636117L, 2357291114L, 3995796221L, 945364213L,
+      1893326518L, 3770814016L, 1691552714L, 2397527410L, 967486361L,
+      776416472L, 4197661421L, 951150819L, 1852770983L, 4044624181L,
+      1399439738L, 4194455275L, 2284037669L, 1550734958L, 3321078108L,
+      1865235926L, 2912129961L, 2664980877L, 1357572033L, 2600196436L,
+      2486728200L, 2372668724L, 1567316966L, 2374111491L, 1839843570L,
+      20815612L, 3727008608L, 3871996229L, 824061249L, 1932503978L,
+      3404541726L, 758428924L, 2609331364L, 1223966026L, 1299179808L,
+      648499352L, 2180134401L, 880821170L, 3781130950L, 113491270L,
+      1032413764L, 4185884695L, 2490396037L, 1201932817L, 4060951446L,
+      4165586898L, 1629813212L, 2887821158L, 415045333L, 628926856L,
+      2193466079L, 3391843445L, 2227540681L, 1907099846L, 2848448395L,
+      1717828221L, 1372704537L, 1707549841L, 2294058813L, 2101214437L,
+      2052479531L, 1695809164L, 3176587306L, 2632770465L, 81634404L,
+      1603220563L, 644238487L, 302857763L, 897352968L, 2613146653L,
+      1391730149L, 4245717312L, 4191828749L, 1948492526L, 2618174230L,
+      3992984522L, 2178852787L, 3596044509L, 3445573503L, 2026614616L,
+      915763564L, 3415689334L, 2532153403L, 3879661562L, 2215027417L,
+      3111154986L, 2929478371L, 668346391L, 1152241381L, 2632029711L,
+      3004150659L, 2135025926L, 948690501L, 2799119116L, 4228829406L,
+      1981197489L, 4209064138L, 684318751L, 3459397845L, 201790843L,
+      4022541136L, 3043635877L, 492509624L, 3263466772L, 1509148086L,
+      921459029L, 3198857146L, 705479721L, 3835966910L, 3603356465L,
+      576159741L, 1742849431L, 594214882L, 2055294343L, 3634861861L,
+      449571793L, 3246390646L, 3868232151L, 1479156585L, 2900125656L,
+      2464815318L, 3960178104L, 1784261920L, 18311476L, 3627135050L,
+      644609697L, 424968996L, 919890700L, 2986824110L, 816423214L,
+      4003562844L, 1392714305L, 1757384428L, 2569030598L, 995949559L,
+      3875659880L, 2933807823L, 2752536860L, 2993858466L, 4030558899L,
+      2770783427L, 2775406005L, 2777781742L, 1931292655L, 472147933L,
+      3865853827L, 2726470545L, 2668412860L, 2887008249L, 408979190L,
+      3578063323L, 3242082049L, 1778193530L, 27981909L, 2362826515L,
+      389875677L, 1043878156L, 581653903L, 3830568952L, 389535942L,
+      3713523185L, 2768373359L, 2526101582L, 1998618197L, 1160859704L,
+      3951172488L, 1098005003L, 906275699L, 3446228002L, 2220677963L,
+      2059306445L, 132199571L, 476838790L, 1868039399L, 3097344807L,
+      857300945L, 396345050L, 2835919916L, 1782168828L, 1419519470L,
+      4288137521L, 819087232L, 596301494L, 872823172L, 1526888217L,
+      805161465L, 1116186205L, 2829002754L, 2352620120L, 620121516L,
+      354159268L, 3601949785L, 209568138L, 1352371732L, 2145977349L,
+      4236871834L, 1539414078L, 3558126206L, 3224857093L, 4164166682L,
+      3817553440L, 3301780278L, 2682696837L, 3734994768L, 1370950260L,
+      1477421202L, 2521315749L, 1330148125L, 1261554731L, 2769143688L,
+      3554756293L, 4235882678L, 3254686059L, 3530579953L, 1215452615L,
+      3574970923L, 4057131421L, 589224178L, 1000098193L, 171190718L,
+      2521852045L, 2351447494L, 2284441580L, 2646685513L, 3486933563L,
+      3789864960L, 1190528160L, 1702536782L, 1534105589L, 4262946827L,
+      2726686826L, 3584544841L, 2348270128L, 2145092281L, 2502718509L,
+      1027832411L, 3571171153L, 1287361161L, 4011474411L, 3241215351L,
+      2419700818L, 971242709L, 1361975763L, 1096842482L, 3271045537L,
+      81165449L, 612438025L, 3912966678L, 1356929810L, 733545735L,
+      537003843L, 1282953084L, 884458241L, 588930090L, 3930269801L,
+      2961472450L, 1219535534L, 3632251943L, 268183903L, 1441240533L,
+      3653903360L, 3854473319L, 2259087390L, 2548293048L, 2022641195L,
+      2105543911L, 1764085217L, 3246183186L, 482438805L, 888317895L,
+      2628314765L, 2466219854L, 717546004L, 2322237039L, 416725234L,
+      1544049923L, 1797944973L, 3398652364L, 3111909456L, 485742908L,
+      2277491072L, 1056355088L, 3181001278L, 129695079L, 2693624550L,
+      1764438564L, 3797785470L, 195503713L, 3266519725L, 2053389444L,
+      1961527818L, 3400226523L, 3777903038L, 2597274307L, 4235851091L,
+      4094406648L, 2171410785L, 1781151386L, 1378577117L, 654643266L,
+      3424024173L, 3385813322L, 679385799L, 479380913L, 681715441L,
+      3096225905L, 276813409L, 3854398070L, 2721105350L, 831263315L,
+      3276280337L, 2628301522L, 3984868494L, 1466099834L, 2104922114L,
+      1412672743L, 820330404L, 3491501010L, 942735832L, 710652807L,
+      3972652090L, 679881088L, 40577009L, 3705286397L, 2815423480L,
+      3566262429L, 663396513L, 3777887429L, 4016670678L, 404539370L,
+      1142712925L, 1140173408L, 2913248352L, 2872321286L, 263751841L,
+      3175196073L, 3162557581L, 2878996619L, 75498548L, 3836833140L,
+      3284664959L, 1157523805L, 112847376L, 207855609L, 1337979698L,
+      1222578451L, 157107174L, 901174378L, 3883717063L, 1618632639L,
+      1767889440L, 4264698824L, 1582999313L, 884471997L, 2508825098L,
+      3756370771L, 2457213553L, 3565776881L, 3709583214L, 915609601L,
+      460833524L, 1091049576L, 85522880L, 2553251L, 132102809L,
+      2429882442L, 2562084610L, 1386507633L, 4112471229L, 21965213L,
+      1981516006L, 2418435617L, 3054872091L, 4251511224L, 2025783543L,
+      1916911512L, 2454491136L, 3938440891L, 3825869115L, 1121698605L,
+      3463052265L, 802340101L, 1912886800L, 4031997367L, 3550640406L,
+      1596096923L, 610150600L, 431464457L, 2541325046L, 486478003L,
+      739704936L, 2862696430L, 3037903166L, 1129749694L, 2611481261L,
+      1228993498L, 510075548L, 3424962587L, 2458689681L, 818934833L,
+      4233309125L, 1608196251L, 3419476016L, 1858543939L, 2682166524L,
+      3317854285L, 631986188L, 3008214764L, 613826412L, 3567358221L,
+      3512343882L, 1552467474L, 3316162670L, 1275841024L, 4142173454L,
+      565267881L, 768644821L, 198310105L, 2396688616L, 1837659011L,
+      203429334L, 854539004L, 4235811518L, 3338304926L, 3730418692L,
+      3852254981L, 3032046452L, 2329811860L, 2303590566L, 2696092212L,
+      3894665932L, 145835667L, 249563655L, 1932210840L, 2431696407L,
+      3312636759L, 214962629L, 2092026914L, 3020145527L, 4073039873L,
+      2739105705L, 1308336752L, 855104522L, 2391715321L, 67448785L,
+      547989482L, 854411802L, 3608633740L, 431731530L, 537375589L,
+      3888005760L, 696099141L, 397343236L, 1864511780L, 44029739L,
+      1729526891L, 1993398655L, 2010173426L, 2591546756L, 275223291L,
+      1503900299L, 4217765081L, 2185635252L, 1122436015L, 3550155364L,
+      681707194L, 3260479338L, 933579397L, 2983029282L, 2505504587L,
+      2667410393L, 2962684490L, 4139721708L, 2658172284L, 2452602383L,
+      2607631612L, 1344296217L, 3075398709L, 2949785295L, 1049956168L,
+      3917185129L, 2155660174L, 3280524475L, 1503827867L, 674380765L,
+      1918468193L, 3843983676L, 634358221L, 2538335643L, 1873351298L,
+      3368723763L, 2129144130L, 3203528633L, 3087174986L, 2691698871L,
+      2516284287L, 24437745L, 1118381474L, 2816314867L, 2448576035L,
+      4281989654L, 217287825L, 165872888L, 2628995722L, 3533525116L,
+      2721669106L, 872340568L, 3429930655L, 3309047304L, 3916704967L,
+      3270160355L, 1348884255L, 1634797670L, 881214967L, 4259633554L,
+      174613027L, 1103974314L, 1625224232L, 2678368291L, 1133866707L,
+      3853082619L, 4073196549L, 1189620777L, 637238656L, 930241537L,
+      4042750792L, 3842136042L, 2417007212L, 2524907510L, 1243036827L,
+      1282059441L, 3764588774L, 1394459615L, 2323620015L, 1166152231L,
+      3307479609L, 3849322257L, 3507445699L, 4247696636L, 758393720L,
+      967665141L, 1095244571L, 1319812152L, 407678762L, 2640605208L,
+      2170766134L, 3663594275L, 4039329364L, 2512175520L, 725523154L,
+      2249807004L, 3312617979L, 2414634172L, 1278482215L, 349206484L,
+      1573063308L, 1196429124L, 3873264116L, 2400067801L, 268795167L,
+      226175489L, 2961367263L, 1968719665L, 42656370L, 1010790699L,
+      561600615L, 2422453992L, 3082197735L, 1636700484L, 3977715296L,
+      3125350482L, 3478021514L, 2227819446L, 1540868045L, 3061908980L,
+      1087362407L, 3625200291L, 361937537L, 580441897L, 1520043666L,
+      2270875402L, 1009161260L, 2502355842L, 4278769785L, 473902412L,
+      1057239083L, 1905829039L, 1483781177L, 2080011417L, 1207494246L,
+      1806991954L, 2194674403L, 3455972205L, 807207678L, 3655655687L,
+      674112918L, 195425752L, 3917890095L, 1874364234L, 1837892715L,
+      3663478166L, 1548892014L, 2570748714L, 2049929836L, 2167029704L,
+      697543767L, 3499545023L, 3342496315L, 1725251190L, 3561387469L,
+      2905606616L, 1580182447L, 3934525927L, 4103172792L, 1365672522L,
+      1534795737L, 3308667416L, 2841911405L, 3943182730L, 4072020313L,
+      3494770452L, 3332626671L, 55327267L, 478030603L, 411080625L,
+      3419529010L, 1604767823L, 3513468014L, 570668510L, 913790824L,
+      2283967995L, 695159462L, 3825542932L, 4150698144L, 1829758699L,
+      202895590L, 1609122645L, 1267651008L, 2910315509L, 2511475445L,
+      2477423819L, 3932081579L, 900879979L, 2145588390L, 2670007504L,
+      580819444L, 1864996828L, 2526325979L, 1019124258L, 815508628L,
+      2765933989L, 1277301341L, 3006021786L, 855540956L, 288025710L,
+      1919594237L, 2331223864L, 177452412L, 2475870369L, 2689291749L,
+      865194284L, 253432152L, 2628531804L, 2861208555L, 2361597573L,
+      1653952120L, 1039661024L, 2159959078L, 3709040440L, 3564718533L,
+      2596878672L, 2041442161L, 31164696L, 2662962485L, 3665637339L,
+      1678115244L, 2699839832L, 3651968520L, 3521595541L, 458433303L,
+      2423096824L, 21831741L, 380011703L, 2498168716L, 861806087L,
+      1673574843L, 4188794405L, 2520563651L, 2632279153L, 2170465525L,
+      4171949898L, 3886039621L, 1661344005L, 3424285243L, 992588372L,
+      2500984144L, 2993248497L, 3590193895L, 1535327365L, 515645636L,
+      131633450L, 3729760261L, 1613045101L, 3254194278L, 15889678L,
+      1493590689L, 244148718L, 2991472662L, 1401629333L, 777349878L,
+      2501401703L, 4285518317L, 3794656178L, 955526526L, 3442142820L,
+      3970298374L, 736025417L, 2737370764L, 1271509744L, 440570731L,
+      136141826L, 1596189518L, 923399175L, 257541519L, 3505774281L,
+      2194358432L, 2518162991L, 1379893637L, 2667767062L, 3748146247L,
+      1821712620L, 3923161384L, 1947811444L, 2392527197L, 4127419685L,
+      1423694998L, 4156576871L, 1382885582L, 3420127279L, 3617499534L,
+      2994377493L, 4038063986L, 1918458672L, 2983166794L, 4200449033L,
+      353294540L, 1609232588L, 243926648L, 2332803291L, 507996832L,
+      2392838793L, 4075145196L, 2060984340L, 4287475136L, 88232602L,
+      2491531140L, 4159725633L, 2272075455L, 759298618L, 201384554L,
+      838356250L, 1416268324L, 674476934L, 90795364L, 141672229L,
+      3660399588L, 4196417251L, 3249270244L, 3774530247L, 59587265L,
+      3683164208L, 19392575L, 1463123697L, 1882205379L, 293780489L,
+      2553160622L, 2933904694L, 675638239L, 2851336944L, 1435238743L,
+      2448730183L, 804436302L, 2119845972L, 322560608L, 4097732704L,
+      2987802540L, 641492617L, 2575442710L, 4217822703L, 3271835300L,
+      2836418300L, 3739921620L, 2138378768L, 2879771855L, 4294903423L,
+      3121097946L, 2603440486L, 2560820391L, 1012930944L, 2313499967L,
+      584489368L, 3431165766L, 897384869L, 2062537737L, 2847889234L,
+      3742362450L, 2951174585L, 4204621084L, 1109373893L, 3668075775L,
+      2750138839L, 3518055702L, 733072558L, 4169325400L, 788493625L};
+
+    SimdFastMersenneTwister sfmt = new SimdFastMersenneTwister();
+    sfmt.setSeed(new int[]{ 0x1234, 0x5678, 0x9abc, 0xdef0 });
+    assertOutputs(sfmt, expected);
+  }
+
+  private static void assertOutputs(SimdFastMersenneTwister sfmt, long[] expected) {
+    final long MASK = (1L << 32) - 1;
+    for (int i = 0; i < expected.length; i++) {
+      long value = sfmt.nextInt() & MASK;
+      assertThat(Integer.toString(i), value, is(equalTo(expected[i])));
+    }
+  }
+
+  @Test
+  public void nextInts() {
+    SimdFastMersenneTwister expected = new SimdFastMersenneTwister(42L);
+    SimdFastMersenneTwister actual = new SimdFastMersenneTwister(42L);
+    int[] array = new int[2000];
+    actual.nextInts(array, 3, 1500);
+    for (int i = 0; i < array.length; i++) {
+      int value = i < 3 || i >= 1503 ? 0 : expected.nextInt();
+      assertThat(Integer.toString(i), array[i], is(equalTo(value)));
+    }
+    assertThat(actual.nextInt(), is(equalTo(expected.nextInt())));
+  }
+
+  @Test
+  public void nextLongs() {
+    SimdFastMersenneTwister expected = new SimdFastMersenneTwister(42L);
+    SimdFastMersenneTwister actual = new SimdFastMersenneTwister(42L);
+    assertThat(actual.nextInt(), is(equalTo(expected.nextInt())));
+    long[] array = new long[1000];
+    actual.nextLongs(array, 0, array.length);
+    for (int i = 0; i < array.length; i++) {
+      assertThat(Integer.toString(i), array[i], is(equalTo(expected.nextLong())));
+    }
+    assertThat(actual.nextInt(), is(equalTo(expected.nextInt())));
+  }
+
+  @Test
+  public void nextDoubles() {
+    SimdFastMersenneTwister expected = new SimdFastMersenneTwister(42L);
+    SimdFastMersenneTwister actual = new SimdFastMersenneTwister(42L);
+    assertThat(actual.nextInt(), is(equalTo(expected.nextInt())));
+    double[] array = new double[1000];
+    actual.nextDoubles(array, 0, array.length);
+    for (int i = 0; i < array.length; i++) {
+      assertThat(Integer.toString(i), array[i], is(equalTo(expected.nextDouble())));
+    }
+    assertThat(actual.nextInt(), is(equalTo(expected.nextInt())));
+  }
+
+  @Test
+  public void nextBytes_ByteBuffer() {
+    for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+      byte[] expected = new byte[3001];
+      new SimdFastMersenneTwister(42L).nextBytes(expected);
+      ByteBuffer actual = ByteBuffer.allocate(expected.length).order(order);
+      new SimdFastMersenneTwister(42L).nextBytes(actual);
+      assertThat(actual.hasRemaining(), is(false));
+      assertArrayEquals(order.toString(), expected, actual.array());
+    }
+  }
+
+  @Test
+  public void saveState_restoreState() {
+    SimdFastMersenneTwister random = new SimdFastMersenneTwister(42L);
+    for (int i = 0; i < 1001; i++) {
+      random.nextInt();
+    }
+    random.nextGaussian();
+    byte[] state = random.saveState();
+    SimdFastMersenneTwister restored = new SimdFastMersenneTwister(7L);
+    restored.restoreState(state);
+    assertThat(restored.nextGaussian(), is(equalTo(random.nextGaussian())));
+    for (int i = 0; i < 1000; i++) {
+      assertThat(restored.nextInt(), is(equalTo(random.nextInt())));
+    }
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2015 Olivier Grégoire <fror@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+/**
+ *
+ * @author Olivier Grégoire <fror@users.noreply.github.com>
+ */
+public class SplitMix64Test {
+
+  @Test
+  public void correctness() {
+    long[] expected = {
+      6457827717110365317L, 3203168211198807973L, -8629252141511181193L,
+      4593380528125082431L, -2037821214251327795L, 7804594928223864054L};
+
+    SplitMix64 random = new SplitMix64(1234567L);
+    for (int i = 0; i < expected.length; i++) {
+      assertThat(Integer.toString(i), random.nextLong(), is(equalTo(expected[i])));
+    }
+  }
+
+  @Test
+  public void advance() {
+    SplitMix64 expected = new SplitMix64(42L);
+    SplitMix64 actual = new SplitMix64(42L);
+    for (int i = 0; i < 1000; i++) {
+      expected.nextLong();
+    }
+    actual.advance(1000L);
+    assertThat(actual.nextLong(), is(equalTo(expected.nextLong())));
+    actual.advance(-1001L);
+    assertThat(actual.nextLong(), is(equalTo(new SplitMix64(42L).nextLong())));
+  }
+
+  @Test
+  public void saveState_restoreState() {
+    SplitMix64 random = new SplitMix64(42L);
+    for (int i = 0; i < 1000; i++) {
+      random.nextLong();
+    }
+    byte[] state = random.saveState();
+    SplitMix64 restored = new SplitMix64(7L);
+    restored.restoreState(state);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(restored.nextLong(), is(equalTo(random.nextLong())));
+    }
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2015 Olivier Grégoire <fror@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ *
+ * @author Olivier Grégoire <fror@users.noreply.github.com>
+ */
+public class Xoroshiro128PlusTest {
+
+  @Test
+  public void correctness() {
+    long[] expected = {
+      3L, 412333834243L, 2360170716294286339L, -9150891787749708447L, 2797080929874688578L,
+      6019711933173041966L};
+
+    Xoroshiro128Plus random = new Xoroshiro128Plus(1L, 2L);
+    assertOutputs(random, expected);
+  }
+
+  @Test
+  public void jump() {
+    Xoroshiro128Plus random = new Xoroshiro128Plus(1L, 2L);
+    random.jump();
+    assertOutputs(random, new long[]{
+      -1582994817148069593L, -2458251172306708024L, -1586432677295170916L});
+  }
+
+  @Test
+  public void longJump() {
+    Xoroshiro128Plus random = new Xoroshiro128Plus(1L, 2L);
+    random.longJump();
+    assertOutputs(random, new long[]{
+      7459827119013173373L, -1816931343978186819L, -1379261105580367010L});
+  }
+
+  @Test
+  public void split() {
+    Xoroshiro128Plus random = new Xoroshiro128Plus(1L, 2L);
+    Xoroshiro128Plus split = random.split();
+    assertOutputs(random, new long[]{412333834243L, 2360170716294286339L});
+    Xoroshiro128Plus expected = new Xoroshiro128Plus(3L);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(split.nextLong(), is(equalTo(expected.nextLong())));
+    }
+  }
+
+  @Test
+  public void split_nested() {
+    Xoroshiro128Plus random = new Xoroshiro128Plus(42L);
+    Xoroshiro128Plus split = random.split();
+    Xoroshiro128Plus splitOfSplit = split.split();
+    Set<Long> values = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      values.add(random.nextLong());
+      values.add(split.nextLong());
+      values.add(splitOfSplit.nextLong());
+    }
+    assertThat(values.size(), is(3000));
+  }
+
+  private static void assertOutputs(Xoroshiro128Plus random, long[] expected) {
+    for (int i = 0; i < expected.length; i++) {
+      assertThat(Integer.toString(i), random.nextLong(), is(equalTo(expected[i])));
+    }
+  }
+
+  @Test
+  public void saveState_restoreState() {
+    Xoroshiro128Plus random = new Xoroshiro128Plus(42L);
+    for (int i = 0; i < 1000; i++) {
+      random.nextLong();
+    }
+    byte[] state = random.saveState();
+    Xoroshiro128Plus restored = new Xoroshiro128Plus(7L);
+    restored.restoreState(state);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(restored.nextLong(), is(equalTo(random.nextLong())));
+    }
+  }
+}
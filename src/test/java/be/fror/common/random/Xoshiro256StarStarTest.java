@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015 Olivier Grégoire <fror@users.noreply.github.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.fror.common.random;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ *
+ * @author Olivier Grégoire <fror@users.noreply.github.com>
+ */
+public class Xoshiro256StarStarTest {
+
+  @Test
+  public void correctness() {
+    long[] expected = {
+      11520L, 0L, 1509978240L, 1215971899390074240L, 1216172134540287360L, 607988272756665600L};
+
+    Xoshiro256StarStar random = new Xoshiro256StarStar(1L, 2L, 3L, 4L);
+    assertOutputs(random, expected);
+  }
+
+  @Test
+  public void jump() {
+    Xoshiro256StarStar random = new Xoshiro256StarStar(1L, 2L, 3L, 4L);
+    random.jump();
+    assertOutputs(random, new long[]{
+      -4912596984176294952L, 7126240192422241655L, 3805973808039778091L});
+  }
+
+  @Test
+  public void longJump() {
+    Xoshiro256StarStar random = new Xoshiro256StarStar(1L, 2L, 3L, 4L);
+    random.longJump();
+    assertOutputs(random, new long[]{
+      5942309088398569549L, -2821296343772193180L, 6925613901769781251L});
+  }
+
+  @Test
+  public void split() {
+    Xoshiro256StarStar random = new Xoshiro256StarStar(1L, 2L, 3L, 4L);
+    Xoshiro256StarStar split = random.split();
+    assertOutputs(random, new long[]{0L, 1509978240L});
+    Xoshiro256StarStar expected = new Xoshiro256StarStar(11520L);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(split.nextLong(), is(equalTo(expected.nextLong())));
+    }
+  }
+
+  @Test
+  public void split_nested() {
+    Xoshiro256StarStar random = new Xoshiro256StarStar(42L);
+    Xoshiro256StarStar split = random.split();
+    Xoshiro256StarStar splitOfSplit = split.split();
+    Set<Long> values = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      values.add(random.nextLong());
+      values.add(split.nextLong());
+      values.add(splitOfSplit.nextLong());
+    }
+    assertThat(values.size(), is(3000));
+  }
+
+  private static void assertOutputs(Xoshiro256StarStar random, long[] expected) {
+    for (int i = 0; i < expected.length; i++) {
+      assertThat(Integer.toString(i), random.nextLong(), is(equalTo(expected[i])));
+    }
+  }
+
+  @Test
+  public void saveState_restoreState() {
+    Xoshiro256StarStar random = new Xoshiro256StarStar(42L);
+    for (int i = 0; i < 1000; i++) {
+      random.nextLong();
+    }
+    byte[] state = random.saveState();
+    Xoshiro256StarStar restored = new Xoshiro256StarStar(7L);
+    restored.restoreState(state);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(restored.nextLong(), is(equalTo(random.nextLong())));
+    }
+  }
+}